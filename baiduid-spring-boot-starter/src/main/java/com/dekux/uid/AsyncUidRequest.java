@@ -0,0 +1,83 @@
+package com.dekux.uid;
+
+import com.dekux.uid.exception.UidGenerateException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * A request of UIDs which is completed without blocking, see {@link UidGenerator#getUIDsAsync(int)}<p>
+ *
+ * The request is filled by {@link UidGenerator#tryGetUIDs(long[], int, int)} in the calling thread first, if the
+ * buffer runs dry, it is parked by {@link UidGenerator#whenAvailable(Runnable)} and filled again once new UIDs are
+ * published. The fills are serialized by the work-in-progress counter, so the request is never filled concurrently
+ *
+ * @author yuan
+ * @since 1.2
+ */
+final class AsyncUidRequest implements Runnable {
+
+    private final UidGenerator uidGenerator;
+    private final long[] uids;
+    private final CompletableFuture<long[]> future = new CompletableFuture<>();
+    private final AtomicInteger wip = new AtomicInteger();
+    private int filled;
+
+    AsyncUidRequest(UidGenerator uidGenerator, int n) {
+        this.uidGenerator = uidGenerator;
+        this.uids = new long[n];
+    }
+
+    /**
+     * Fill the request at once, then return the future
+     *
+     * @return future of the UIDs
+     */
+    CompletableFuture<long[]> submit() {
+        run();
+        return future;
+    }
+
+    @Override
+    public void run() {
+        if (wip.getAndIncrement() != 0) {
+            return;
+        }
+
+        int missed = 1;
+        do {
+            fill();
+            missed = wip.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    /**
+     * Fill the rest of the request, or park it until new UIDs are published
+     */
+    private void fill() {
+        if (future.isDone()) {
+            return;
+        }
+
+        try {
+            while (filled < uids.length) {
+                int count = uidGenerator.tryGetUIDs(uids, filled, uids.length - filled);
+                if (count == 0) {
+                    // try again after parking, in case that the UIDs are published in the meantime
+                    uidGenerator.whenAvailable(this);
+                    count = uidGenerator.tryGetUIDs(uids, filled, uids.length - filled);
+                    if (count == 0) {
+                        return;
+                    }
+                }
+                filled += count;
+            }
+            future.complete(uids);
+        } catch (UidGenerateException e) {
+            future.completeExceptionally(e);
+        } catch (Exception e) {
+            future.completeExceptionally(new UidGenerateException(e));
+        }
+    }
+
+}
@@ -21,7 +21,8 @@ import org.springframework.util.Assert;
 
 /**
  * Allocate 64 bits for the UID(long)<br>
- * sign (fixed 1bit) -> deltaSecond -> workerId -> sequence(within the same second)
+ * sign (fixed 1bit) -> deltaSecond -> workerId -> sequence(within the same second)<br>
+ * The delta seconds are counted in the tick unit of the generator, which is one second by default
  * 
  * @author yutianbao
  */
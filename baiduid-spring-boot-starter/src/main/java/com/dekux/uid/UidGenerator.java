@@ -17,6 +17,10 @@ package com.dekux.uid;
 
 import com.dekux.uid.exception.UidGenerateException;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.LongStream;
+import java.util.stream.StreamSupport;
+
 /**
  * Represents a unique id generator.
  *
@@ -32,6 +36,107 @@ public interface UidGenerator {
      */
     long getUID() throws UidGenerateException;
 
+    /**
+     * Get a batch of unique IDs
+     *
+     * @param n count of UIDs
+     * @return UIDs
+     * @throws UidGenerateException
+     */
+    default long[] getUIDs(int n) throws UidGenerateException {
+        long[] uids = new long[n];
+        getUIDs(uids, 0, n);
+        return uids;
+    }
+
+    /**
+     * Fill the specified range of the array with unique IDs, the default implementation
+     * just calls {@link #getUID()} for each element
+     *
+     * @param dst destination array
+     * @param off offset of the first element to fill
+     * @param len count of UIDs
+     * @throws UidGenerateException
+     */
+    default void getUIDs(long[] dst, int off, int len) throws UidGenerateException {
+        for (int i = off; i < off + len; i++) {
+            dst[i] = getUID();
+        }
+    }
+
+    /**
+     * Try to fill the specified range of the array with unique IDs without waiting or rejecting, the cached
+     * implementations return the count of UIDs available right now, which may be 0 if the buffer is empty.
+     * The default implementation just calls {@link #getUIDs(long[], int, int)}
+     *
+     * @param dst destination array
+     * @param off offset of the first element to fill
+     * @param len max count of UIDs
+     * @return count of UIDs filled
+     * @throws UidGenerateException
+     */
+    default int tryGetUIDs(long[] dst, int off, int len) throws UidGenerateException {
+        getUIDs(dst, off, len);
+        return len;
+    }
+
+    /**
+     * Register a callback to run once when new UIDs are available, which is used after {@link #tryGetUIDs} returns
+     * less than requested. The callback may be run in another thread, and may be run even if the UIDs have been taken
+     * by others, so the caller must try again. The default implementation just runs the callback at once
+     *
+     * @param callback
+     */
+    default void whenAvailable(Runnable callback) {
+        callback.run();
+    }
+
+    /**
+     * Get a unique ID without blocking, see {@link #getUIDsAsync(int)}
+     *
+     * @return future of the UID
+     */
+    default CompletableFuture<Long> getUIDAsync() {
+        return getUIDsAsync(1).thenApply(uids -> uids[0]);
+    }
+
+    /**
+     * Get a batch of unique IDs without blocking. If there are enough UIDs available, the future is completed in the
+     * calling thread. Otherwise the request is parked, and completed by the padding thread pool once new UIDs are
+     * published, the {@link com.dekux.uid.buffer.RejectedTakeBufferHandler} is never applied. The future is completed
+     * exceptionally only if generating fails
+     *
+     * @param n count of UIDs
+     * @return future of the UIDs
+     */
+    default CompletableFuture<long[]> getUIDsAsync(int n) {
+        return new AsyncUidRequest(this, n).submit();
+    }
+
+    /**
+     * An infinite primitive stream of unique IDs, which is generated lazily in chunks, see {@link #stream(long)}
+     *
+     * @return UIDs
+     */
+    default LongStream stream() {
+        return StreamSupport.longStream(new UidSpliterator(this), false);
+    }
+
+    /**
+     * A primitive stream of <code>count</code> unique IDs. The UIDs are reserved in chunks by
+     * {@link #getUIDs(long[], int, int)} without boxing, and the stream splits by the rest count, so the
+     * workers of a {@link LongStream#parallel()} stream reserve their own chunks
+     *
+     * @param count count of UIDs
+     * @return UIDs
+     */
+    default LongStream stream(long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative: " + count);
+        }
+        return StreamSupport.longStream(new UidSpliterator(this, count), false);
+    }
+
     /**
      * Parse the UID into elements which are used to generate the UID. <br>
      * Such as timestamp & workerId & sequence...
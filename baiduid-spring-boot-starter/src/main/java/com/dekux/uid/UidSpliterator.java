@@ -0,0 +1,128 @@
+package com.dekux.uid;
+
+import java.util.Spliterator;
+import java.util.function.LongConsumer;
+
+/**
+ * A primitive {@link Spliterator.OfLong} of UIDs, see {@link UidGenerator#stream()}<p>
+ *
+ * The UIDs are reserved in chunks of at most {@link #CHUNK_SIZE} by {@link UidGenerator#getUIDs(long[], int, int)},
+ * which moves the cursor of the buffer once for a whole chunk, then the elements are served from the local chunk
+ * without boxing. Splitting hands over half of the rest count to the new spliterator, so each worker of a parallel
+ * stream reserves its own chunks and never contends per element
+ *
+ * @author yuan
+ * @since 1.2
+ */
+final class UidSpliterator implements Spliterator.OfLong {
+    private static final int CHUNK_SIZE = 1024;
+
+    private final UidGenerator uidGenerator;
+    private final boolean infinite;
+
+    /** Count of UIDs not reserved yet, which is only an estimate halved by each split if infinite */
+    private long remaining;
+
+    /** The chunk reserved */
+    private long[] chunk;
+    private int index;
+    private int limit;
+
+    /**
+     * Constructor of an infinite spliterator
+     *
+     * @param uidGenerator
+     */
+    UidSpliterator(UidGenerator uidGenerator) {
+        this(uidGenerator, Long.MAX_VALUE, true);
+    }
+
+    /**
+     * Constructor of a spliterator of <code>count</code> UIDs
+     *
+     * @param uidGenerator
+     * @param count count of UIDs
+     */
+    UidSpliterator(UidGenerator uidGenerator, long count) {
+        this(uidGenerator, count, false);
+    }
+
+    private UidSpliterator(UidGenerator uidGenerator, long remaining, boolean infinite) {
+        this.uidGenerator = uidGenerator;
+        this.remaining = remaining;
+        this.infinite = infinite;
+    }
+
+    @Override
+    public boolean tryAdvance(LongConsumer action) {
+        if (index == limit && !reserve()) {
+            return false;
+        }
+
+        action.accept(chunk[index++]);
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(LongConsumer action) {
+        do {
+            for (int i = index; i < limit; i++) {
+                action.accept(chunk[i]);
+            }
+            index = limit;
+        } while (reserve());
+    }
+
+    /**
+     * Reserve the next chunk of UIDs
+     *
+     * @return false if there are no more UIDs
+     */
+    private boolean reserve() {
+        int size = infinite ? CHUNK_SIZE : (int) Math.min(CHUNK_SIZE, remaining);
+        if (size == 0) {
+            return false;
+        }
+
+        if (chunk == null) {
+            chunk = new long[size];
+        }
+        uidGenerator.getUIDs(chunk, 0, size);
+        if (!infinite) {
+            remaining -= size;
+        }
+        index = 0;
+        limit = size;
+        return true;
+    }
+
+    @Override
+    public Spliterator.OfLong trySplit() {
+        // the estimate of an infinite one is halved, so the splitting of the stream terminates
+        if (infinite) {
+            remaining >>>= 1;
+            return new UidSpliterator(uidGenerator, remaining, true);
+        }
+
+        // not worth splitting less than two chunks
+        if (remaining < CHUNK_SIZE << 1) {
+            return null;
+        }
+
+        long half = remaining >>> 1;
+        remaining -= half;
+        return new UidSpliterator(uidGenerator, half, false);
+    }
+
+    @Override
+    public long estimateSize() {
+        return infinite ? remaining : remaining + (limit - index);
+    }
+
+    @Override
+    public int characteristics() {
+        int characteristics = DISTINCT | NONNULL | IMMUTABLE;
+        return infinite ? characteristics : characteristics | SIZED | SUBSIZED;
+    }
+
+}
@@ -0,0 +1,250 @@
+package com.dekux.uid.buffer;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base class of the {@link UidBuffer} implementations, holds the padding threshold, the executor of padding
+ * buffer and the reject put/take buffer handle policy
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public abstract class AbstractUidBuffer implements UidBuffer {
+    private static final long WAIT_SLICE_NANOS = 1_000_000L;
+
+    /** The size of buffer, each slot hold a UID */
+    protected final int bufferSize;
+
+    /** Threshold for trigger padding buffer, which can be raised from the min one by the padding policy */
+    protected final int minPaddingThreshold;
+    protected volatile int paddingThreshold;
+
+    /** Reject put/take buffer handle policy */
+    protected RejectedPutBufferHandler rejectedPutHandler = this::discardPutBuffer;
+    protected RejectedTakeBufferHandler rejectedTakeHandler = this::exceptionRejectedTakeBuffer;
+
+    /** Wait strategy when the buffer is empty */
+    protected WaitStrategy waitStrategy = WaitStrategy.NONE;
+    protected long waitTimeoutNanos;
+
+    /** Listener of the buffer events */
+    protected RingBufferListener listener = RingBufferListener.NOOP;
+
+    /** Executor of padding buffer */
+    protected BufferPaddingExecutor bufferPaddingExecutor;
+
+    /** The buffer switched to by resizing, the consumers take from it once this is empty */
+    protected volatile UidBuffer successor;
+
+    /**
+     * Constructor with buffer size & padding factor
+     *
+     * @param bufferSize must be positive & a power of 2
+     * @param paddingFactor percent in (0 - 100). When the count of rest available UIDs reach the threshold, it will trigger padding buffer<br>
+     *        Sample: paddingFactor=20, bufferSize=1000 -> threshold=1000 * 20 /100,
+     *        padding buffer will be triggered when tail-cursor<threshold
+     */
+    protected AbstractUidBuffer(int bufferSize, int paddingFactor) {
+        // check buffer size is positive & a power of 2; padding factor in (0, 100)
+        Assert.isTrue(bufferSize > 0L, "RingBuffer size must be positive");
+        Assert.isTrue(Integer.bitCount(bufferSize) == 1, "RingBuffer size must be a power of 2");
+        Assert.isTrue(paddingFactor > 0 && paddingFactor < 100, "RingBuffer size must be positive");
+
+        this.bufferSize = bufferSize;
+        this.minPaddingThreshold = bufferSize * paddingFactor / 100;
+        this.paddingThreshold = minPaddingThreshold;
+    }
+
+    /**
+     * Take an UID by {@link #tryTake()}, if there is no more available UID to be taken after waiting by the
+     * {@link WaitStrategy}, the specified {@link RejectedTakeBufferHandler} will be applied. A retired buffer
+     * takes from its successor instead
+     *
+     * @return UID
+     * @throws IllegalStateException if the handler returns without throwing
+     */
+    @Override
+    public long take() {
+        long uid = tryTake();
+        if (uid == EMPTY && waitStrategy != WaitStrategy.NONE) {
+            long deadline = System.nanoTime() + waitTimeoutNanos;
+            while (uid == EMPTY && successor == null && awaitPadding(deadline)) {
+                uid = tryTake();
+            }
+        }
+
+        // the buffer is never padded again once retired, take from the successor
+        UidBuffer next = successor;
+        if (uid == EMPTY && next != null) {
+            uid = tryTake();
+            return uid != EMPTY ? uid : next.take();
+        }
+
+        if (uid == EMPTY) {
+            rejectTake();
+            throw new IllegalStateException("No available UID to take. " + this);
+        }
+        return uid;
+    }
+
+    /**
+     * Take a batch of UIDs by {@link #tryTake(long[], int, int)}, if there is no more available UID to be taken
+     * after waiting by the {@link WaitStrategy}, the specified {@link RejectedTakeBufferHandler} will be applied.
+     * A retired buffer takes from its successor instead
+     *
+     * @param dst destination array
+     * @param off offset of the first element to fill
+     * @param len max count of UIDs to take
+     * @return count of UIDs taken, 0 means that the buffer is empty
+     */
+    @Override
+    public int take(long[] dst, int off, int len) {
+        int count = tryTake(dst, off, len);
+        if (count == 0 && waitStrategy != WaitStrategy.NONE) {
+            long deadline = System.nanoTime() + waitTimeoutNanos;
+            while (count == 0 && successor == null && awaitPadding(deadline)) {
+                count = tryTake(dst, off, len);
+            }
+        }
+
+        // the buffer is never padded again once retired, take from the successor
+        UidBuffer next = successor;
+        if (count == 0 && next != null) {
+            count = tryTake(dst, off, len);
+            return count > 0 ? count : next.take(dst, off, len);
+        }
+
+        if (count == 0) {
+            rejectTake();
+        }
+        return count;
+    }
+
+    /**
+     * Trigger padding in an async-mode if the rest available UIDs reach the threshold
+     */
+    protected void checkPaddingThreshold(long currentTail, long currentCursor) {
+        long rest = currentTail - currentCursor;
+        if (rest < paddingThreshold && bufferPaddingExecutor.asyncPadding()) {
+            listener.thresholdCrossed(this, rest);
+        }
+    }
+
+    /**
+     * Wait for the padding by the {@link WaitStrategy} in slices of {@value #WAIT_SLICE_NANOS}ns, the caller
+     * retries taking after each slice, which triggers the padding again in case that the last trigger was dropped
+     * by the padding in progress
+     *
+     * @param deadline deadline of the wait, by {@link System#nanoTime()}
+     * @return false means that the deadline elapsed, or the thread is interrupted
+     */
+    private boolean awaitPadding(long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return false;
+        }
+
+        // stop waiting once interrupted, the strategies return at once with the interrupt flag kept
+        return waitStrategy.waitFor(this, Math.min(remaining, WAIT_SLICE_NANOS))
+                || !Thread.currentThread().isInterrupted();
+    }
+
+    /**
+     * Wake the consumers waiting for new UIDs, must be called after the tail is published
+     */
+    protected void signalPublished() {
+        waitStrategy.signalAll();
+    }
+
+    /**
+     * Reject putting the UID, notify the {@link RingBufferListener} then apply the {@link RejectedPutBufferHandler}
+     */
+    protected void rejectPut(long uid) {
+        listener.putRejected(this, uid);
+        rejectedPutHandler.rejectPutBuffer(this, uid);
+    }
+
+    /**
+     * Reject taking, notify the {@link RingBufferListener} then apply the {@link RejectedTakeBufferHandler}
+     */
+    protected void rejectTake() {
+        listener.takeRejected(this);
+        rejectedTakeHandler.rejectTakeBuffer(this);
+    }
+
+    /**
+     * Discard policy for {@link RejectedPutBufferHandler}, we just discard the UID, the rejection is logged by
+     * the {@link RingBufferListener}
+     */
+    protected void discardPutBuffer(UidBuffer buffer, long uid) {
+    }
+
+    /**
+     * Policy for {@link RejectedTakeBufferHandler}, throws {@link RuntimeException}, the rejection is logged by
+     * the {@link RingBufferListener}
+     */
+    protected void exceptionRejectedTakeBuffer(UidBuffer buffer) {
+        throw new RuntimeException("Rejected take buffer. " + buffer);
+    }
+
+    @Override
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    @Override
+    public int getPaddingThreshold() {
+        return paddingThreshold;
+    }
+
+    /**
+     * Set the padding threshold, which is kept in the range from the threshold of the padding factor
+     * to 7/8 of the buffer size, so a full buffer never triggers padding
+     *
+     * @param paddingThreshold
+     */
+    @Override
+    public void setPaddingThreshold(int paddingThreshold) {
+        int maxPaddingThreshold = bufferSize - (bufferSize >> 3);
+        this.paddingThreshold = Math.max(minPaddingThreshold, Math.min(paddingThreshold, maxPaddingThreshold));
+    }
+
+    @Override
+    public void retire(UidBuffer successor) {
+        Assert.notNull(successor, "Successor buffer must not be null!");
+        this.successor = successor;
+        signalPublished();
+    }
+
+    @Override
+    public void setBufferPaddingExecutor(BufferPaddingExecutor bufferPaddingExecutor) {
+        this.bufferPaddingExecutor = bufferPaddingExecutor;
+    }
+
+    @Override
+    public void setRejectedPutHandler(RejectedPutBufferHandler rejectedPutHandler) {
+        this.rejectedPutHandler = rejectedPutHandler;
+    }
+
+    @Override
+    public void setRejectedTakeHandler(RejectedTakeBufferHandler rejectedTakeHandler) {
+        this.rejectedTakeHandler = rejectedTakeHandler;
+    }
+
+    @Override
+    public void setListener(RingBufferListener listener) {
+        Assert.notNull(listener, "Listener must not be null!");
+        this.listener = listener;
+    }
+
+    @Override
+    public void setWaitStrategy(WaitStrategy waitStrategy, long timeout, TimeUnit unit) {
+        Assert.notNull(waitStrategy, "Wait strategy must not be null!");
+        Assert.isTrue(timeout >= 0, "Wait timeout must not be negative!");
+        this.waitStrategy = waitStrategy;
+        this.waitTimeoutNanos = unit.toNanos(timeout);
+    }
+
+}
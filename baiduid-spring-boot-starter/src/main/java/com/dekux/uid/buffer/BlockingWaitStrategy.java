@@ -0,0 +1,61 @@
+package com.dekux.uid.buffer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Wait by blocking the thread on a condition, which is signalled by the buffer when the tail is published.
+ * The waiting threads don't use any CPU, and the producer only takes the lock if there is a waiting thread
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class BlockingWaitStrategy implements WaitStrategy {
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition published = lock.newCondition();
+    private final AtomicInteger waiters = new AtomicInteger();
+
+    @Override
+    public boolean waitFor(UidBuffer buffer, long timeoutNanos) {
+        if (WaitStrategy.isAvailable(buffer)) {
+            return true;
+        }
+
+        // register as a waiter before checking the tail again, so the signal of the producer is never missed
+        waiters.incrementAndGet();
+        lock.lock();
+        try {
+            long remaining = timeoutNanos;
+            while (!WaitStrategy.isAvailable(buffer)) {
+                if (remaining <= 0) {
+                    return false;
+                }
+                remaining = published.awaitNanos(remaining);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } finally {
+            lock.unlock();
+            waiters.decrementAndGet();
+        }
+    }
+
+    @Override
+    public void signalAll() {
+        if (waiters.get() == 0) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            published.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+}
@@ -15,21 +15,28 @@
  */
 package com.dekux.uid.buffer;
 
-import com.dekux.uid.utils.NamingThreadFactory;
+import com.dekux.uid.clock.TimeSource;
 import com.dekux.uid.utils.PaddedAtomicLong;
+import com.dekux.uid.utils.PaddingExecutors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
-import java.util.List;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
- * Represents an executor for padding {@link RingBuffer}<br>
+ * Represents an executor for padding {@link UidBuffer}<br>
  * There are two kinds of executors: one for scheduled padding, the other for padding immediately.
  * 
  * @author yutianbao
@@ -40,44 +47,83 @@ public class BufferPaddingExecutor {
     /** Constants */
     private static final String WORKER_NAME = "RingBuffer-Padding-Worker";
     private static final String SCHEDULE_NAME = "RingBuffer-Padding-Schedule";
+    private static final String RETRY_SCHEDULE_NAME = "RingBuffer-Padding-Retry";
     private static final long DEFAULT_SCHEDULE_INTERVAL = 5 * 60L; // 5 minutes
+    private static final int MIN_SPAN_SLOTS = 1024;
+    private static final int MIGRATE_BATCH_SIZE = 256;
     
     /** Whether buffer padding is running */
     private final AtomicBoolean running;
 
-    /** We can borrow UIDs from the future, here store the last second we have consumed */
+    /** Whether an async padding is submitted and not finished yet, the signals in the meantime are coalesced */
+    private final AtomicBoolean signalled = new AtomicBoolean(false);
+
+    /** We can borrow UIDs from the future, here store the last second (in tick unit) we have consumed */
     private final PaddedAtomicLong lastSecond;
 
-    /** RingBuffer & BufferUidProvider */
-    private final RingBuffer ringBuffer;
+    /** UidBuffer & BufferUidProvider, the buffer can be switched when resizing */
+    private volatile UidBuffer ringBuffer;
     private final BufferedUidProvider uidProvider;
 
+    /**
+     * Holder of the UIDs provided & not put yet, the rest of a second rejected by a full buffer is carried over to
+     * the next padding, so a second is never dropped half used. Only accessed by the padding which holds the running flag
+     */
+    private final UidRange uidRange = new UidRange();
+
     /** Padding immediately by the thread pool */
     private final ExecutorService bufferPadExecutors;
     /** Padding schedule thread */
     private final ScheduledExecutorService bufferPadSchedule;
+    private ScheduledFuture<?> scheduledPadding;
+
+    /** Whether the executors are shared with others, the shared executors are not shut down by this */
+    private final boolean sharedExecutors;
     
     /** Schedule interval Unit as seconds */
     private long scheduleInterval = DEFAULT_SCHEDULE_INTERVAL;
 
+    /** Callbacks to run once after the next publish */
+    private final Queue<Runnable> availableCallbacks = new ConcurrentLinkedQueue<>();
+
+    /** Listener of the padding events */
+    private RingBufferListener listener = RingBufferListener.NOOP;
+
+    /** Policy to raise the padding threshold by the predicted demand, null means the fixed padding factor */
+    private PredictivePaddingPolicy paddingPolicy;
+
+    /** Max count of the workers padding a {@link RangeWritableBuffer} in parallel, 1 means the serial padding */
+    private int paddingParallelism = 1;
+
+    /** Time source & tick unit of the seconds provided, to calculate the lead of the last second */
+    private TimeSource timeSource = TimeSource.SYSTEM;
+    private long tickMillis = 1000L;
+
+    /** Max lead of the last second padded ahead of the current second in tick unit, the padding pauses beyond it */
+    private long maxLead = Long.MAX_VALUE;
+
+    /** Schedule of the padding retried at the next tick once paused for the max lead, the padding schedule is reused if any */
+    private ScheduledExecutorService retrySchedule;
+    private final AtomicBoolean retryScheduled = new AtomicBoolean(false);
+
     /**
-     * Constructor with {@link RingBuffer} and {@link BufferedUidProvider}, default use schedule
+     * Constructor with {@link UidBuffer} and {@link BufferedUidProvider}, default use schedule
      *
-     * @param ringBuffer {@link RingBuffer}
+     * @param ringBuffer {@link UidBuffer}
      * @param uidProvider {@link BufferedUidProvider}
      */
-    public BufferPaddingExecutor(RingBuffer ringBuffer, BufferedUidProvider uidProvider) {
+    public BufferPaddingExecutor(UidBuffer ringBuffer, BufferedUidProvider uidProvider) {
         this(ringBuffer, uidProvider, true);
     }
 
     /**
-     * Constructor with {@link RingBuffer}, {@link BufferedUidProvider}, and whether use schedule padding
+     * Constructor with {@link UidBuffer}, {@link BufferedUidProvider}, and whether use schedule padding
      *
-     * @param ringBuffer {@link RingBuffer}
+     * @param ringBuffer {@link UidBuffer}
      * @param uidProvider {@link BufferedUidProvider}
      * @param usingSchedule
      */
-    public BufferPaddingExecutor(RingBuffer ringBuffer, BufferedUidProvider uidProvider, boolean usingSchedule) {
+    public BufferPaddingExecutor(UidBuffer ringBuffer, BufferedUidProvider uidProvider, boolean usingSchedule) {
         this.running = new AtomicBoolean(false);
         this.lastSecond = new PaddedAtomicLong(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
         this.ringBuffer = ringBuffer;
@@ -85,14 +131,36 @@ public class BufferPaddingExecutor {
 
         // initialize thread pool
         int cores = Runtime.getRuntime().availableProcessors();
-        bufferPadExecutors = Executors.newFixedThreadPool(cores * 2, new NamingThreadFactory(WORKER_NAME));
+        bufferPadExecutors = PaddingExecutors.newPaddingExecutor(WORKER_NAME, cores * 2);
 
         // initialize schedule thread
         if (usingSchedule) {
-            bufferPadSchedule = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(SCHEDULE_NAME));
+            bufferPadSchedule = PaddingExecutors.newPaddingSchedule(SCHEDULE_NAME);
         } else {
             bufferPadSchedule = null;
         }
+        this.sharedExecutors = false;
+    }
+
+    /**
+     * Constructor with {@link UidBuffer}, {@link BufferedUidProvider}, and the executors shared with other buffers.
+     * The shared executors are managed by the caller, and not shut down by {@link #shutdown()}
+     *
+     * @param ringBuffer {@link UidBuffer}
+     * @param uidProvider {@link BufferedUidProvider}
+     * @param bufferPadExecutors thread pool for padding immediately
+     * @param bufferPadSchedule schedule thread for padding, null means that not use schedule padding
+     */
+    public BufferPaddingExecutor(UidBuffer ringBuffer, BufferedUidProvider uidProvider,
+                                 ExecutorService bufferPadExecutors, ScheduledExecutorService bufferPadSchedule) {
+        Assert.notNull(bufferPadExecutors, "Padding executors must not be null!");
+        this.running = new AtomicBoolean(false);
+        this.lastSecond = new PaddedAtomicLong(TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis()));
+        this.ringBuffer = ringBuffer;
+        this.uidProvider = uidProvider;
+        this.bufferPadExecutors = bufferPadExecutors;
+        this.bufferPadSchedule = bufferPadSchedule;
+        this.sharedExecutors = true;
     }
 
     /**
@@ -100,14 +168,24 @@ public class BufferPaddingExecutor {
      */
     public void start() {
         if (bufferPadSchedule != null) {
-            bufferPadSchedule.scheduleWithFixedDelay(() -> paddingBuffer(), scheduleInterval, scheduleInterval, TimeUnit.SECONDS);
+            scheduledPadding = bufferPadSchedule.scheduleWithFixedDelay(() -> paddingBuffer(), scheduleInterval, scheduleInterval, TimeUnit.SECONDS);
         }
     }
 
     /**
-     * Shutdown executors
+     * Shutdown executors, the shared executors are left running, only the schedule padding of this is cancelled
      */
     public void shutdown() {
+        if (scheduledPadding != null) {
+            scheduledPadding.cancel(false);
+        }
+        if (retrySchedule != null && retrySchedule != bufferPadSchedule) {
+            retrySchedule.shutdownNow();
+        }
+        if (sharedExecutors) {
+            return;
+        }
+
         if (!bufferPadExecutors.isShutdown()) {
             bufferPadExecutors.shutdownNow();
         }
@@ -127,39 +205,346 @@ public class BufferPaddingExecutor {
     }
 
     /**
-     * Padding buffer in the thread pool
+     * Padding buffer in the thread pool. The signal is single-flight: only one refill loop is submitted
+     * until it finishes, the other signals in the meantime are coalesced into it, which is cheap enough
+     * to be called on each take under the threshold. The loop keeps padding while the buffer is still
+     * under the threshold after a pass, so the signals dropped during the pass are not lost
+     *
+     * @return true if a padding task is submitted by this signal
      */
-    public void asyncPadding() {
-        bufferPadExecutors.submit(this::paddingBuffer);
+    public boolean asyncPadding() {
+        // check before CAS, so the signals in flight only read the flag
+        if (signalled.get()) {
+            return false;
+        }
+
+        // the padding is paused for the max lead, no pass is submitted until the retry at the next tick
+        if (maxLead != Long.MAX_VALUE && getLead() >= maxLead) {
+            scheduleRetry();
+            return false;
+        }
+
+        if (!signalled.compareAndSet(false, true)) {
+            return false;
+        }
+
+        try {
+            bufferPadExecutors.submit(this::refillLoop);
+        } catch (RejectedExecutionException e) {
+            signalled.set(false);
+            listener.paddingRejected(ringBuffer);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Refill loop of the async padding, exits if the padding is running by others
+     */
+    private void refillLoop() {
+        try {
+            UidBuffer buffer;
+            do {
+                // stop if the padding is running by others, or nothing padded cause of the max lead
+                if (tryPaddingBuffer() <= 0) {
+                    break;
+                }
+                buffer = this.ringBuffer;
+            } while (buffer.getTail() - buffer.getCursor() < buffer.getPaddingThreshold());
+        } finally {
+            signalled.set(false);
+        }
     }
 
     /**
      * Padding buffer fill the slots until to catch the cursor
      */
     public void paddingBuffer() {
-        LOGGER.info("Ready to padding buffer lastSecond:{}. {}", lastSecond.get(), ringBuffer);
+        tryPaddingBuffer();
+    }
 
+    /**
+     * Padding buffer fill the slots until to catch the cursor
+     *
+     * @return count of UIDs padded, or -1 if the padding is still running by others
+     */
+    private long tryPaddingBuffer() {
         // is still running
         if (!running.compareAndSet(false, true)) {
-            LOGGER.info("Padding buffer is still running. {}", ringBuffer);
-            return;
+            return -1;
         }
 
         // fill the rest slots until to catch the cursor
+        UidBuffer buffer = this.ringBuffer;
+        listener.paddingStarted(buffer, lastSecond.get());
+        if (paddingPolicy != null) {
+            paddingPolicy.beforePadding(buffer);
+        }
+
+        long startNanos = System.nanoTime();
+        long padded;
+        long elapsedNanos;
+        try {
+            if (paddingParallelism > 1 && buffer instanceof RangeWritableBuffer) {
+                padded = parallelPadding((RangeWritableBuffer) buffer);
+            } else {
+                padded = serialPadding(buffer);
+            }
+
+            elapsedNanos = System.nanoTime() - startNanos;
+            if (paddingPolicy != null) {
+                paddingPolicy.afterPadding(buffer, padded, elapsedNanos);
+            }
+        } catch (RuntimeException | Error e) {
+            listener.paddingFailed(buffer, lastSecond.get(), e);
+            throw e;
+        } finally {
+            // not running now, even if the pass failed, otherwise no padding would run any more
+            running.compareAndSet(true, false);
+        }
+
+        listener.paddingFinished(buffer, lastSecond.get(), padded, elapsedNanos);
+        return padded;
+    }
+
+    /**
+     * Padding the buffer second by second until it is full or the max lead is reached, each second is put in one run
+     *
+     * @return count of UIDs padded
+     */
+    private long serialPadding(UidBuffer buffer) {
+        long padded = 0;
         boolean isFullRingBuffer = false;
         while (!isFullRingBuffer) {
-            List<Long> uidList = uidProvider.provide(lastSecond.incrementAndGet());
-            for (Long uid : uidList) {
-                isFullRingBuffer = !ringBuffer.put(uid);
-                if (isFullRingBuffer) {
+            // continue with the rest of the last second before moving to the next one
+            if (uidRange.isEmpty()) {
+                if (isLeadExceeded(buffer)) {
+                    break;
+                }
+                uidProvider.provide(lastSecond.incrementAndGet(), uidRange);
+            }
+
+            // put the whole second in one run, then the tail is published only once
+            int put = buffer.putAll(uidRange.getFirstUid(), uidRange.getCount());
+            padded += put;
+            isFullRingBuffer = put < uidRange.getCount();
+            uidRange.skip(put);
+            runAvailableCallbacks();
+        }
+        return padded;
+    }
+
+    /**
+     * Padding the writable positions of the buffer by several workers. The seconds are provided in order on the
+     * current thread & laid on the positions, then the positions are split into disjoint spans, which are written
+     * by the current thread & the workers of the thread pool in parallel. The tail is published once after all the
+     * spans are written, so the UIDs are still taken in order<p>
+     *
+     * The spans are claimed by the threads, the current thread writes the spans not claimed by the workers, so it
+     * never waits for a worker which is not started yet in a busy thread pool
+     *
+     * @return count of UIDs padded
+     */
+    private long parallelPadding(RangeWritableBuffer buffer) {
+        int writable = buffer.getWritableCount();
+        if (writable <= 0) {
+            return 0;
+        }
+
+        // lay the seconds on the writable positions, the rest of the last second is kept for the next padding
+        long firstSequence = buffer.getTail() + 1;
+        PaddingPlan plan = new PaddingPlan();
+        while (plan.planned < writable) {
+            if (uidRange.isEmpty()) {
+                if (isLeadExceeded(buffer)) {
+                    break;
+                }
+                uidProvider.provide(lastSecond.incrementAndGet(), uidRange);
+            }
+
+            int count = Math.min(uidRange.getCount(), writable - plan.planned);
+            plan.add(uidRange.getFirstUid(), count);
+            uidRange.skip(count);
+        }
+
+        int planned = plan.planned;
+        if (planned == 0) {
+            return 0;
+        }
+
+        // split the positions into spans, a small padding is not worth the workers
+        int spans = Math.min(paddingParallelism, (planned + MIN_SPAN_SLOTS - 1) / MIN_SPAN_SLOTS);
+        int spanSize = (planned + spans - 1) / spans;
+        AtomicInteger nextSpan = new AtomicInteger();
+        CountDownLatch written = new CountDownLatch(spans);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Runnable worker = () -> {
+            int span;
+            while ((span = nextSpan.getAndIncrement()) < spans) {
+                try {
+                    plan.write(buffer, firstSequence, span * spanSize, Math.min((span + 1) * spanSize, planned));
+                } catch (RuntimeException | Error e) {
+                    failure.compareAndSet(null, e);
+                } finally {
+                    written.countDown();
+                }
+            }
+        };
+
+        for (int i = 1; i < spans; i++) {
+            try {
+                bufferPadExecutors.execute(worker);
+            } catch (RejectedExecutionException e) {
+                break;
+            }
+        }
+        worker.run();
+        awaitUninterruptibly(written);
+
+        // never publish the positions of a span failed, they are written again by the next padding
+        Throwable cause = failure.get();
+        if (cause != null) {
+            throw new IllegalStateException("Failed to write the padding span", cause);
+        }
+
+        buffer.publishRange(firstSequence + planned - 1);
+        runAvailableCallbacks();
+        return planned;
+    }
+
+    /**
+     * Whether the next second would be beyond the max lead, then the padding pauses until the retry at the next tick,
+     * and the consumers wait by the {@link WaitStrategy} of the buffer once it is drained
+     */
+    private boolean isLeadExceeded(UidBuffer buffer) {
+        long lead = getLead();
+        if (lead < maxLead) {
+            return false;
+        }
+
+        listener.paddingThrottled(buffer, lead);
+        scheduleRetry();
+        return true;
+    }
+
+    /**
+     * Retry the padding at the next tick once it is paused for the max lead, so the consumers waiting & the
+     * callbacks of {@link #whenAvailable(Runnable)} are resumed when the clock catches up. At most one retry is
+     * scheduled at a time
+     */
+    private void scheduleRetry() {
+        if (!retryScheduled.compareAndSet(false, true)) {
+            return;
+        }
+
+        long delayMillis = tickMillis - timeSource.currentTimeMillis() % tickMillis;
+        try {
+            retrySchedule.schedule(() -> {
+                retryScheduled.set(false);
+                asyncPadding();
+            }, delayMillis, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            retryScheduled.set(false);
+            listener.paddingRejected(ringBuffer);
+        }
+    }
+
+    /**
+     * Get the lead of the last second padded ahead of the current second of the time source, counted in tick unit
+     *
+     * @return lead seconds, negative means that the last second padded is behind the clock
+     */
+    public long getLead() {
+        return lastSecond.get() - timeSource.currentTimeMillis() / tickMillis;
+    }
+
+    /**
+     * Wait for the spans claimed by the workers, the interruption is kept until they are written, otherwise the
+     * positions of the spans would be published without UIDs
+     */
+    private void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Register a callback to run once after the next publish of the buffer, the callbacks are run in the
+     * padding thread pool, so a slow callback never delays padding
+     *
+     * @param callback
+     */
+    public void whenAvailable(Runnable callback) {
+        availableCallbacks.offer(callback);
+    }
+
+    /**
+     * Run the callbacks registered before the publish
+     */
+    private void runAvailableCallbacks() {
+        Runnable callback;
+        while ((callback = availableCallbacks.poll()) != null) {
+            try {
+                bufferPadExecutors.execute(callback);
+            } catch (RejectedExecutionException e) {
+                callback.run();
+            }
+        }
+    }
+
+    /**
+     * Switch the padding target to a new buffer, the available UIDs of the current buffer are migrated to the new
+     * one as many as it can hold, then the current buffer is retired to the new one, see {@link UidBuffer#retire}<p>
+     *
+     * The running flag is held for the whole switch, so no padding targets the current buffer in the meantime. The
+     * UIDs are moved in small batches by {@link UidBuffer#tryTake(long[], int, int)} & {@link UidBuffer#putAll(long[])},
+     * the consumers of the current buffer keep taking the UIDs not moved yet, and the new buffer is padded from the
+     * next second of the last one padded<p>
+     *
+     * The new buffer is not taken by the consumers until the switch returns, the caller should publish it to them
+     * after the switch, then pad it by {@link #paddingBuffer()}
+     *
+     * @param buffer the new buffer
+     * @return count of UIDs migrated
+     */
+    public int switchBuffer(UidBuffer buffer) {
+        // wait for the padding in progress, then hold the running flag until the target is switched
+        while (!running.compareAndSet(false, true)) {
+            Thread.yield();
+        }
+
+        UidBuffer current = this.ringBuffer;
+        int migrated = 0;
+        try {
+            // the new buffer is not taken yet, so its writable count is exact, a batch may end at a segment
+            long[] batch = new long[MIGRATE_BATCH_SIZE];
+            int writable;
+            while ((writable = (int) (buffer.getBufferSize() - 1 - (buffer.getTail() - buffer.getCursor()))) > 0) {
+                int count = current.tryTake(batch, 0, Math.min(batch.length, writable));
+                if (count == 0) {
                     break;
                 }
+                migrated += buffer.putAll(count < batch.length ? Arrays.copyOf(batch, count) : batch);
             }
+
+            this.ringBuffer = buffer;
+            current.retire(buffer);
+        } finally {
+            running.set(false);
         }
 
-        // not running now
-        running.compareAndSet(true, false);
-        LOGGER.info("End to padding buffer lastSecond:{}. {}", lastSecond.get(), ringBuffer);
+        LOGGER.info("Switched padding buffer with {} UIDs migrated. {} -> {}", migrated, current, buffer);
+        return migrated;
     }
 
     /**
@@ -169,5 +554,97 @@ public class BufferPaddingExecutor {
         Assert.isTrue(scheduleInterval > 0, "Schedule interval must positive!");
         this.scheduleInterval = scheduleInterval;
     }
+
+    /**
+     * Set the time source shared with the generator & the tick unit of the seconds provided, which restarts the
+     * padding from the current tick of the time source. Must be set before the first padding
+     *
+     * @param timeSource {@link TimeSource}
+     * @param tickMillis unit of the seconds in milliseconds
+     */
+    public void setTimeSource(TimeSource timeSource, long tickMillis) {
+        Assert.notNull(timeSource, "Time source must not be null!");
+        Assert.isTrue(tickMillis > 0, "Tick millis must positive!");
+        this.timeSource = timeSource;
+        this.tickMillis = tickMillis;
+        this.lastSecond.set(timeSource.currentTimeMillis() / tickMillis);
+        this.uidRange.set(0L, 0);
+    }
+
+    public void setListener(RingBufferListener listener) {
+        Assert.notNull(listener, "Listener must not be null!");
+        this.listener = listener;
+    }
+
+    public void setPaddingPolicy(PredictivePaddingPolicy paddingPolicy) {
+        this.paddingPolicy = paddingPolicy;
+    }
+
+    /**
+     * Set the max count of the workers padding in parallel, only applied to a {@link RangeWritableBuffer}. The
+     * workers are taken from the thread pool of padding, so it should not be greater than the threads of the pool
+     *
+     * @param paddingParallelism
+     */
+    public void setPaddingParallelism(int paddingParallelism) {
+        Assert.isTrue(paddingParallelism > 0, "Padding parallelism must positive!");
+        this.paddingParallelism = paddingParallelism;
+    }
+
+    /**
+     * Set the max lead of the last second padded ahead of the current second, counted in tick unit. The padding
+     * pauses when it is reached, which bounds the timestamps of the UIDs borrowed from the future under a sustained
+     * overload, then it is retried at the next tick. Note that a full buffer holds the UIDs of several ticks ahead,
+     * so it should not be less than them, otherwise the buffer is never full
+     *
+     * @param maxLead max lead in tick unit
+     */
+    public void setMaxLead(long maxLead) {
+        Assert.isTrue(maxLead > 0, "Max lead must positive!");
+        this.maxLead = maxLead;
+        if (retrySchedule == null) {
+            retrySchedule = bufferPadSchedule != null ? bufferPadSchedule : PaddingExecutors.newPaddingSchedule(RETRY_SCHEDULE_NAME);
+        }
+    }
+
+    /**
+     * Plan of a parallel padding, the runs of the seconds laid on the positions in order
+     */
+    private static final class PaddingPlan {
+        /** The first UID & the offset of the first position of each run */
+        private long[] firstUids = new long[16];
+        private int[] offsets = new int[16];
+        private int size;
+
+        /** Count of the positions planned */
+        private int planned;
+
+        private void add(long firstUid, int count) {
+            if (size == firstUids.length) {
+                firstUids = Arrays.copyOf(firstUids, size << 1);
+                offsets = Arrays.copyOf(offsets, size << 1);
+            }
+            firstUids[size] = firstUid;
+            offsets[size] = planned;
+            size++;
+            planned += count;
+        }
+
+        /**
+         * Write the positions of the span [from, to) which may cross the runs
+         */
+        private void write(RangeWritableBuffer buffer, long firstSequence, int from, int to) {
+            int run = Arrays.binarySearch(offsets, 0, size, from);
+            if (run < 0) {
+                run = -run - 2;
+            }
+
+            for (int offset = from; offset < to; run++) {
+                int end = Math.min(to, run + 1 < size ? offsets[run + 1] : planned);
+                buffer.writeRange(firstSequence + offset, firstUids[run] + (offset - offsets[run]), end - offset);
+                offset = end;
+            }
+        }
+    }
     
 }
@@ -0,0 +1,41 @@
+package com.dekux.uid.buffer;
+
+/**
+ * Types of the {@link UidBuffer} used by the cached generators
+ * <li>RING: {@link RingBuffer}, slots with a flag object per slot, claimed by CAS on the cursor
+ * <li>SEQUENCE: {@link SequenceRingBuffer}, slots stamped with sequences in a flat primitive array instead of
+ *     the flag objects, claimed by CAS on the cursor bounded by the tail as RING
+ * <li>SEGMENT: {@link SegmentBuffer}, runs of contiguous UIDs queued as segment descriptors, claimed by
+ *     fetch-and-add on the offset of the head segment. Memory is independent of the buffer size
+ * <li>DOUBLE: {@link DoubleBuffer}, an active & a standby flat primitive array without any flag per slot,
+ *     claimed by CAS on the cursor bounded by the tail, swapped when the active one is exhausted
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public enum BufferType {
+
+    RING, SEQUENCE, SEGMENT, DOUBLE;
+
+    /**
+     * Create a buffer of this type
+     *
+     * @param bufferSize must be positive & a power of 2
+     * @param paddingFactor percent in (0 - 100)
+     * @return buffer
+     */
+    public UidBuffer create(int bufferSize, int paddingFactor) {
+        switch (this) {
+            case SEQUENCE:
+                return new SequenceRingBuffer(bufferSize, paddingFactor);
+            case SEGMENT:
+                return new SegmentBuffer(bufferSize, paddingFactor);
+            case DOUBLE:
+                return new DoubleBuffer(bufferSize, paddingFactor);
+            case RING:
+            default:
+                return new RingBuffer(bufferSize, paddingFactor);
+        }
+    }
+
+}
@@ -15,10 +15,9 @@
  */
 package com.dekux.uid.buffer;
 
-import java.util.List;
-
 /**
- * Buffered UID provider(Lambda supported), which provides UID in the same one second
+ * Buffered UID provider(Lambda supported), which provides UID in the same one second.
+ * The UIDs are provided as a {@link UidRange} of contiguous UIDs without boxing
  * 
  * @author yutianbao
  */
@@ -28,8 +27,8 @@ public interface BufferedUidProvider {
     /**
      * Provides UID in one second
      * 
-     * @param momentInSecond
-     * @return
+     * @param momentInSecond second in the tick unit of the generator
+     * @param range holder to set with the run of UIDs, reused by the caller for each second
      */
-    List<Long> provide(long momentInSecond);
+    void provide(long momentInSecond, UidRange range);
 }
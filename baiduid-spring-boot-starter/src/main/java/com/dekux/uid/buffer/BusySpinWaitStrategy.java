@@ -0,0 +1,22 @@
+package com.dekux.uid.buffer;
+
+/**
+ * Wait by a busy spin loop on the tail, which gets the lowest latency but burns a core while waiting
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class BusySpinWaitStrategy implements WaitStrategy {
+
+    @Override
+    public boolean waitFor(UidBuffer buffer, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (!WaitStrategy.isAvailable(buffer)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,329 @@
+package com.dekux.uid.buffer;
+
+import com.dekux.uid.utils.PaddedAtomicLong;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Represents a buffer of two flat halves, the consumers drain the active half while the {@link BufferPaddingExecutor}
+ * fills the standby one, then the halves are swapped when the active one is exhausted<p>
+ *
+ * A double buffer is consisted of:
+ * <li><b>halves:</b> two flat primitive arrays of <code>bufferSize / 2</code> UIDs, without any flag per slot
+ * <li><b>tail:</b> a sequence of the max position produced
+ * <li><b>cursor:</b> a sequence of the max position claimed by the consumers
+ *
+ * The positions are laid on the halves round by round, the round <code>r</code> is in the half <code>r % 2</code>, so
+ * the half of the cursor is the active one, and the swap is just the cursor moving into the next round. The producer
+ * fills a round only if the previous round of the same half has been read completely, which is tracked by a
+ * striped counter of the reads per half instead of a flag per slot<p>
+ *
+ * Consumers claim positions by a CAS on the cursor which is bounded by the tail, so a claimed position is always
+ * published and never waited for, {@link #tryTake()} returns {@link #EMPTY} once the buffer is exhausted
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class DoubleBuffer extends AbstractUidBuffer implements RangeWritableBuffer {
+    /** Constants */
+    private static final int START_POINT = -1;
+
+    /** The halves & the reads of each half */
+    private final int halfShift;
+    private final long indexMask;
+    private final long[][] halves;
+    private final LongAdder[] reads;
+
+    /** Tail: last position sequence to produce */
+    private final AtomicLong tail = new PaddedAtomicLong(START_POINT);
+
+    /** Cursor: last position sequence claimed to consume */
+    private final AtomicLong cursor = new PaddedAtomicLong(START_POINT);
+
+    /**
+     * Constructor with buffer size, paddingFactor default as {@value RingBuffer#DEFAULT_PADDING_PERCENT}
+     *
+     * @param bufferSize must be a power of 2 & greater than 1
+     */
+    public DoubleBuffer(int bufferSize) {
+        this(bufferSize, RingBuffer.DEFAULT_PADDING_PERCENT);
+    }
+
+    /**
+     * Constructor with buffer size & padding factor
+     *
+     * @param bufferSize must be a power of 2 & greater than 1, each half holds half of it
+     * @param paddingFactor percent in (0 - 100), see {@link RingBuffer#RingBuffer(int, int)}
+     */
+    public DoubleBuffer(int bufferSize, int paddingFactor) {
+        super(bufferSize, paddingFactor);
+        Assert.isTrue(bufferSize > 1, "DoubleBuffer size must be greater than 1");
+
+        int halfSize = bufferSize >> 1;
+        this.halfShift = Integer.numberOfTrailingZeros(halfSize);
+        this.indexMask = halfSize - 1;
+        this.halves = new long[][] {new long[halfSize], new long[halfSize]};
+        this.reads = new LongAdder[] {new LongAdder(), new LongAdder()};
+    }
+
+    /**
+     * Put an UID in the standby half & tail moved, see {@link #putAll(long, int)}
+     *
+     * @param uid
+     * @return false means that the buffer is full, apply {@link RejectedPutBufferHandler}
+     */
+    @Override
+    public boolean put(long uid) {
+        if (putAll(uid, 1) == 1) {
+            return true;
+        }
+
+        rejectPut(uid);
+        return false;
+    }
+
+    /**
+     * Put a run of contiguous UIDs in the halves, then the tail is moved once<p>
+     *
+     * <b>Note that: </b> There is no monitor here, the caller must guarantee that only one producer puts at a time
+     *
+     * @param firstUid the first UID of the run
+     * @param count count of UIDs in the run
+     * @return count of UIDs put, less than <code>count</code> means that the buffer is full
+     */
+    @Override
+    public int putAll(long firstUid, int count) {
+        long currentTail = tail.get();
+
+        // fill the rounds one by one until reach a half which is still being read
+        int put = 0;
+        while (put < count) {
+            long sequence = currentTail + 1 + put;
+            int writable = writableInRound(sequence, count - put);
+            if (writable == 0) {
+                break;
+            }
+
+            writeRange(sequence, firstUid + put, writable);
+            put += writable;
+        }
+
+        return publish(currentTail, put);
+    }
+
+    /**
+     * Put all the UIDs of the array in the halves, see {@link #putAll(long, int)}
+     *
+     * @param uids UIDs to put
+     * @return count of UIDs put, less than length of the array means that the buffer is full
+     */
+    @Override
+    public int putAll(long[] uids) {
+        long currentTail = tail.get();
+
+        // fill the rounds one by one until reach a half which is still being read
+        int put = 0;
+        while (put < uids.length) {
+            long sequence = currentTail + 1 + put;
+            int writable = writableInRound(sequence, uids.length - put);
+            if (writable == 0) {
+                break;
+            }
+
+            System.arraycopy(uids, put, halves[calHalfIndex(sequence)], calSlotIndex(sequence), writable);
+            put += writable;
+        }
+
+        publish(currentTail, put);
+
+        // the rest of the array is discarded
+        if (put < uids.length) {
+            rejectPut(uids[put]);
+        }
+        return put;
+    }
+
+    /**
+     * Count of the positions after the tail in the rounds whose previous round of the same half has been read
+     * completely, so {@link #writeRange(long, long, int)} never waits
+     */
+    @Override
+    public int getWritableCount() {
+        long currentTail = tail.get();
+        int writable = 0;
+        while (writable < bufferSize) {
+            int count = writableInRound(currentTail + 1 + writable, bufferSize - writable);
+            if (count == 0) {
+                break;
+            }
+            writable += count;
+        }
+        return writable;
+    }
+
+    /**
+     * Write a run of contiguous UIDs in the halves from <code>sequence</code>, the run may cross the halves
+     *
+     * @param sequence position sequence of the first UID
+     * @param firstUid the first UID of the run
+     * @param count count of UIDs in the run
+     */
+    @Override
+    public void writeRange(long sequence, long firstUid, int count) {
+        int written = 0;
+        while (written < count) {
+            long current = sequence + written;
+            long[] half = halves[calHalfIndex(current)];
+            int index = calSlotIndex(current);
+            int length = (int) Math.min(count - written, indexMask + 1 - index);
+            for (int i = 0; i < length; i++) {
+                half[index + i] = firstUid + written + i;
+            }
+            written += length;
+        }
+    }
+
+    @Override
+    public void publishRange(long lastSequence) {
+        tail.set(lastSequence);
+        signalPublished();
+    }
+
+    /**
+     * Take an UID of the active half, the position is claimed by a CAS on the cursor, which never moves beyond the tail
+     *
+     * @return UID, or {@link #EMPTY} if the buffer is empty
+     */
+    @Override
+    public long tryTake() {
+        // spin get next available cursor, the cursor is moved only if it doesn't catch the tail
+        long currentCursor;
+        long sequence;
+        do {
+            currentCursor = cursor.get();
+            sequence = currentCursor == tail.get() ? currentCursor : currentCursor + 1;
+        } while (sequence != currentCursor && !cursor.compareAndSet(currentCursor, sequence));
+
+        // trigger padding in an async-mode if reach the threshold
+        checkPaddingThreshold(tail.get(), sequence);
+
+        // cursor catch the tail, means that there is no more available UID to take
+        if (sequence == currentCursor) {
+            return EMPTY;
+        }
+
+        // Note that: read the slot before counting the read, otherwise the producer may overwrite the slot
+        int halfIndex = calHalfIndex(sequence);
+        long uid = halves[halfIndex][calSlotIndex(sequence)];
+        reads[halfIndex].increment();
+        return uid;
+    }
+
+    /**
+     * Take a batch of UIDs of the halves, the positions are claimed by one CAS on the cursor, which is bounded by
+     * the tail
+     *
+     * @param dst destination array
+     * @param off offset of the first element to fill
+     * @param len max count of UIDs to take
+     * @return count of UIDs taken, 0 means that the buffer is empty
+     */
+    @Override
+    public int tryTake(long[] dst, int off, int len) {
+        // claim a run of positions with one CAS, which is bounded by the tail
+        long currentCursor;
+        long nextCursor;
+        do {
+            currentCursor = cursor.get();
+            nextCursor = Math.min(currentCursor + len, tail.get());
+        } while (nextCursor != currentCursor && !cursor.compareAndSet(currentCursor, nextCursor));
+
+        // trigger padding in an async-mode if reach the threshold
+        checkPaddingThreshold(tail.get(), nextCursor);
+
+        // cursor catch the tail, means that there is no more available UID to take
+        int count = (int) (nextCursor - currentCursor);
+        long firstSequence = currentCursor + 1;
+
+        // copy the claimed positions half by half, the batch may cross the end of the active half
+        int taken = 0;
+        while (taken < count) {
+            long sequence = firstSequence + taken;
+            int halfIndex = calHalfIndex(sequence);
+            int index = calSlotIndex(sequence);
+            int length = (int) Math.min(count - taken, indexMask + 1 - index);
+            System.arraycopy(halves[halfIndex], index, dst, off + taken, length);
+            reads[halfIndex].add(length);
+            taken += length;
+        }
+
+        return count;
+    }
+
+    /**
+     * Count of positions writable from the sequence to the end of its round, 0 means that the previous round of
+     * the half has not been read completely yet
+     */
+    private int writableInRound(long sequence, int count) {
+        long round = sequence >>> halfShift;
+        long readsRequired = (round >>> 1) << halfShift;
+        if (reads[(int) (round & 1)].sum() < readsRequired) {
+            return 0;
+        }
+
+        return (int) Math.min(count, indexMask + 1 - calSlotIndex(sequence));
+    }
+
+    /**
+     * Publish the tail with the count of slots put
+     */
+    private int publish(long currentTail, int put) {
+        if (put > 0) {
+            tail.set(currentTail + put);
+            signalPublished();
+        }
+        return put;
+    }
+
+    /**
+     * Calculate the half index with the slot sequence (round % 2)
+     */
+    protected int calHalfIndex(long sequence) {
+        return (int) ((sequence >>> halfShift) & 1);
+    }
+
+    /**
+     * Calculate slot index of the half with the slot sequence (sequence % halfSize)
+     */
+    protected int calSlotIndex(long sequence) {
+        return (int) (sequence & indexMask);
+    }
+
+    /**
+     * Getters
+     */
+    @Override
+    public long getTail() {
+        return tail.get();
+    }
+
+    @Override
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("DoubleBuffer [bufferSize=").append(bufferSize)
+               .append(", tail=").append(tail)
+               .append(", cursor=").append(cursor)
+               .append(", activeHalf=").append(calHalfIndex(cursor.get() + 1))
+               .append(", paddingThreshold=").append(paddingThreshold).append("]");
+
+        return builder.toString();
+    }
+
+}
@@ -0,0 +1,148 @@
+package com.dekux.uid.buffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * {@link RingBufferListener} which logs the events, each kind of event is logged at most once in an interval,
+ * and the count of the events suppressed in the meantime is logged with the next one
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class LoggingRingBufferListener implements RingBufferListener {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LoggingRingBufferListener.class);
+    private static final long DEFAULT_INTERVAL_MILLIS = 1000L;
+
+    /** Min interval between two logs of the same kind, unit as nanoseconds */
+    private final long intervalNanos;
+
+    /** Rate limiters of each kind of event */
+    private final RateLimiter threshold = new RateLimiter();
+    private final RateLimiter padding = new RateLimiter();
+    private final RateLimiter failure = new RateLimiter();
+    private final RateLimiter throttling = new RateLimiter();
+    private final RateLimiter taskRejection = new RateLimiter();
+    private final RateLimiter putRejection = new RateLimiter();
+    private final RateLimiter takeRejection = new RateLimiter();
+
+    public LoggingRingBufferListener() {
+        this(DEFAULT_INTERVAL_MILLIS);
+    }
+
+    /**
+     * Constructor with the interval of logs
+     *
+     * @param intervalMillis min interval between two logs of the same kind, unit as milliseconds
+     */
+    public LoggingRingBufferListener(long intervalMillis) {
+        Assert.isTrue(intervalMillis >= 0, "Log interval must not be negative!");
+        this.intervalNanos = TimeUnit.MILLISECONDS.toNanos(intervalMillis);
+    }
+
+    @Override
+    public void thresholdCrossed(UidBuffer buffer, long rest) {
+        if (LOGGER.isInfoEnabled()) {
+            long suppressed = threshold.acquire();
+            if (suppressed >= 0) {
+                LOGGER.info("Reach the padding threshold:{}. rest:{}, suppressed:{}. {}", buffer.getPaddingThreshold(),
+                        rest, suppressed, buffer);
+            }
+        }
+    }
+
+    @Override
+    public void paddingStarted(UidBuffer buffer, long lastSecond) {
+        LOGGER.debug("Ready to padding buffer lastSecond:{}. {}", lastSecond, buffer);
+    }
+
+    @Override
+    public void paddingFinished(UidBuffer buffer, long lastSecond, long padded, long elapsedNanos) {
+        if (LOGGER.isInfoEnabled()) {
+            long suppressed = padding.acquire();
+            if (suppressed >= 0) {
+                LOGGER.info("End to padding buffer lastSecond:{}, padded:{}, elapsed:{}us, suppressed:{}. {}", lastSecond,
+                        padded, TimeUnit.NANOSECONDS.toMicros(elapsedNanos), suppressed, buffer);
+            }
+        }
+    }
+
+    @Override
+    public void paddingFailed(UidBuffer buffer, long lastSecond, Throwable cause) {
+        if (LOGGER.isErrorEnabled()) {
+            long suppressed = failure.acquire();
+            if (suppressed >= 0) {
+                LOGGER.error("Failed to padding buffer lastSecond:{}, suppressed:{}. {}", lastSecond, suppressed,
+                        buffer, cause);
+            }
+        }
+    }
+
+    @Override
+    public void paddingThrottled(UidBuffer buffer, long lead) {
+        if (LOGGER.isWarnEnabled()) {
+            long suppressed = throttling.acquire();
+            if (suppressed >= 0) {
+                LOGGER.warn("Paused padding buffer for the max lead, lead:{}, suppressed:{}. {}", lead, suppressed,
+                        buffer);
+            }
+        }
+    }
+
+    @Override
+    public void paddingRejected(UidBuffer buffer) {
+        if (LOGGER.isWarnEnabled()) {
+            long suppressed = taskRejection.acquire();
+            if (suppressed >= 0) {
+                LOGGER.warn("Rejected padding buffer task, suppressed:{}. {}", suppressed, buffer);
+            }
+        }
+    }
+
+    @Override
+    public void putRejected(UidBuffer buffer, long uid) {
+        if (LOGGER.isWarnEnabled()) {
+            long suppressed = putRejection.acquire();
+            if (suppressed >= 0) {
+                LOGGER.warn("Rejected putting buffer for uid:{}, suppressed:{}. {}", uid, suppressed, buffer);
+            }
+        }
+    }
+
+    @Override
+    public void takeRejected(UidBuffer buffer) {
+        if (LOGGER.isWarnEnabled()) {
+            long suppressed = takeRejection.acquire();
+            if (suppressed >= 0) {
+                LOGGER.warn("Rejected take buffer, suppressed:{}. {}", suppressed, buffer);
+            }
+        }
+    }
+
+    /**
+     * Allows one log in an interval, and counts the suppressed ones
+     */
+    private final class RateLimiter {
+        private final AtomicLong lastNanos = new AtomicLong(System.nanoTime() - intervalNanos);
+        private final AtomicLong suppressed = new AtomicLong();
+
+        /**
+         * @return count of the events suppressed since the last log, or -1 if this one should be suppressed
+         */
+        private long acquire() {
+            long now = System.nanoTime();
+            long last = lastNanos.get();
+            if (now - last >= intervalNanos && lastNanos.compareAndSet(last, now)) {
+                return suppressed.getAndSet(0);
+            }
+
+            suppressed.incrementAndGet();
+            return -1;
+        }
+    }
+
+}
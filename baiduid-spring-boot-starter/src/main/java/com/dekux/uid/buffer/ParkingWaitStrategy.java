@@ -0,0 +1,33 @@
+package com.dekux.uid.buffer;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Wait by parking the thread between the checks of the tail, the park time is doubled each round from
+ * {@value #MIN_PARK_NANOS}ns up to {@value #MAX_PARK_NANOS}ns, which trades a little latency for the CPU
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class ParkingWaitStrategy implements WaitStrategy {
+    /** Constants */
+    private static final long MIN_PARK_NANOS = 1_000L;
+    private static final long MAX_PARK_NANOS = 1_000_000L;
+
+    @Override
+    public boolean waitFor(UidBuffer buffer, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        long parkNanos = MIN_PARK_NANOS;
+        while (!WaitStrategy.isAvailable(buffer)) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0 || Thread.currentThread().isInterrupted()) {
+                return false;
+            }
+
+            LockSupport.parkNanos(this, Math.min(parkNanos, remaining));
+            parkNanos = Math.min(parkNanos << 1, MAX_PARK_NANOS);
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,96 @@
+package com.dekux.uid.buffer;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Padding policy which raises the padding threshold of the buffer by the predicted demand, instead of the fixed
+ * percent of the padding factor<p>
+ *
+ * Keeps an EWMA of the take rate between padding passes, and an EWMA of the padding throughput of each pass, then
+ * sets the threshold to the UIDs taken during a full refill plus the headroom:
+ * <code>takeRate * (headroom + bufferSize / paddingRate)</code>, so the padding starts early enough that the rest
+ * never drops below the headroom of demand. The threshold never goes below the one of the padding factor<p>
+ *
+ * <b>Note that: </b> This is only called by the {@link BufferPaddingExecutor} under its running flag, so there is
+ * no concurrent access
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class PredictivePaddingPolicy {
+    /** Weight of the latest sample */
+    private static final double ALPHA = 0.3;
+
+    /** Min interval of a take rate sample, the passes in a row are merged into one sample */
+    private static final long MIN_SAMPLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** Headroom of demand to keep, unit as nanoseconds */
+    private final long headroomNanos;
+
+    /** EWMA of rates, unit as UIDs per nanosecond */
+    private double takeRate;
+    private double paddingRate;
+
+    /** Last sample of the take rate */
+    private UidBuffer sampledBuffer;
+    private long sampledCursor;
+    private long sampledNanos;
+
+    /**
+     * Constructor with headroom
+     *
+     * @param headroomMillis headroom of demand to keep, unit as milliseconds
+     */
+    public PredictivePaddingPolicy(long headroomMillis) {
+        Assert.isTrue(headroomMillis > 0, "Padding headroom must positive!");
+        this.headroomNanos = TimeUnit.MILLISECONDS.toNanos(headroomMillis);
+    }
+
+    /**
+     * Sample the take rate since the last padding pass, the sample is skipped if the buffer is switched,
+     * and merged into the next one if it is shorter than {@value #MIN_SAMPLE_NANOS}ns
+     *
+     * @param buffer buffer to pad
+     */
+    public void beforePadding(UidBuffer buffer) {
+        long now = System.nanoTime();
+        long cursor = buffer.getCursor();
+        if (buffer == sampledBuffer) {
+            if (now - sampledNanos < MIN_SAMPLE_NANOS) {
+                return;
+            }
+            takeRate = ewma(takeRate, (double) (cursor - sampledCursor) / (now - sampledNanos));
+        }
+
+        sampledBuffer = buffer;
+        sampledCursor = cursor;
+        sampledNanos = now;
+    }
+
+    /**
+     * Sample the throughput of the padding pass, then raise the padding threshold of the buffer
+     *
+     * @param buffer buffer padded
+     * @param padded count of UIDs padded in the pass
+     * @param elapsedNanos elapsed time of the pass
+     */
+    public void afterPadding(UidBuffer buffer, long padded, long elapsedNanos) {
+        if (padded > 0 && elapsedNanos > 0) {
+            paddingRate = ewma(paddingRate, (double) padded / elapsedNanos);
+        }
+        if (paddingRate <= 0) {
+            return;
+        }
+
+        double refillNanos = buffer.getBufferSize() / paddingRate;
+        double threshold = takeRate * (headroomNanos + refillNanos);
+        buffer.setPaddingThreshold((int) Math.min(threshold, Integer.MAX_VALUE));
+    }
+
+    private double ewma(double average, double sample) {
+        return average == 0 ? sample : average + ALPHA * (sample - average);
+    }
+
+}
@@ -0,0 +1,40 @@
+package com.dekux.uid.buffer;
+
+/**
+ * Represents a {@link UidBuffer} whose slots after the tail can be written by disjoint ranges in parallel, then
+ * published at once by moving the tail, which is used by the parallel padding of {@link BufferPaddingExecutor}<p>
+ *
+ * The ranges written are invisible to the consumers until the tail is published, the caller must guarantee that
+ * only one padding writes & publishes at a time, and all the positions up to the published tail are written
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public interface RangeWritableBuffer extends UidBuffer {
+
+    /**
+     * Count of the positions after the tail which can be written now, the positions still being taken by the
+     * consumers are counted, {@link #writeRange(long, long, int)} waits for them
+     *
+     * @return count of the writable positions
+     */
+    int getWritableCount();
+
+    /**
+     * Write a run of contiguous UIDs in the positions starting from <code>sequence</code>, which must be within
+     * {@link #getWritableCount()} after the tail. Safe to be called concurrently for disjoint ranges
+     *
+     * @param sequence position sequence of the first UID
+     * @param firstUid the first UID of the run
+     * @param count count of UIDs in the run
+     */
+    void writeRange(long sequence, long firstUid, int count);
+
+    /**
+     * Publish the tail to the last position written, then wake the consumers waiting for new UIDs
+     *
+     * @param lastSequence position sequence of the last UID written
+     */
+    void publishRange(long lastSequence);
+
+}
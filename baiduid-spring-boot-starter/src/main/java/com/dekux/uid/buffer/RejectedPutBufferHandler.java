@@ -17,7 +17,10 @@ package com.dekux.uid.buffer;
 
 /**
  * If tail catches the cursor it means that the ring buffer is full, any more buffer put request will be rejected.
- * Specify the policy to handle the reject. This is a Lambda supported interface
+ * Specify the policy to handle the reject. This is a Lambda supported interface<p>
+ *
+ * Note that the UIDs rejected by the padding of {@link BufferPaddingExecutor} are kept for the next padding,
+ * so the handler must not issue the rejected UID elsewhere
  * 
  * @author yutianbao
  */
@@ -27,8 +30,8 @@ public interface RejectedPutBufferHandler {
     /**
      * Reject put buffer request
      * 
-     * @param ringBuffer
+     * @param buffer
      * @param uid
      */
-    void rejectPutBuffer(RingBuffer ringBuffer, long uid);
+    void rejectPutBuffer(UidBuffer buffer, long uid);
 }
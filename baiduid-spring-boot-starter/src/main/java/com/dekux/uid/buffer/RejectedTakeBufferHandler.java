@@ -27,7 +27,7 @@ public interface RejectedTakeBufferHandler {
     /**
      * Reject take buffer request
      * 
-     * @param ringBuffer
+     * @param buffer
      */
-    void rejectTakeBuffer(RingBuffer ringBuffer);
+    void rejectTakeBuffer(UidBuffer buffer);
 }
@@ -16,8 +16,6 @@
 package com.dekux.uid.buffer;
 
 import com.dekux.uid.utils.PaddedAtomicLong;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.util.Assert;
 
 import java.util.concurrent.atomic.AtomicLong;
@@ -35,17 +33,14 @@ import java.util.concurrent.atomic.AtomicLong;
  * 
  * @author yutianbao
  */
-public class RingBuffer {
-    private static final Logger LOGGER = LoggerFactory.getLogger(RingBuffer.class);
-
+public class RingBuffer extends AbstractUidBuffer implements RangeWritableBuffer {
     /** Constants */
     private static final int START_POINT = -1;
     private static final long CAN_PUT_FLAG = 0L;
     private static final long CAN_TAKE_FLAG = 1L;
     public static final int DEFAULT_PADDING_PERCENT = 50;
 
-    /** The size of RingBuffer's slots, each slot hold a UID */
-    private final int bufferSize;
+    /** The slots of RingBuffer, each slot hold a UID */
     private final long indexMask;
     private final long[] slots;
     private final PaddedAtomicLong[] flags;
@@ -56,16 +51,6 @@ public class RingBuffer {
     /** Cursor: current position sequence to consume */
     private final AtomicLong cursor = new PaddedAtomicLong(START_POINT);
 
-    /** Threshold for trigger padding buffer*/
-    private final int paddingThreshold; 
-    
-    /** Reject put/take buffer handle policy */
-    private RejectedPutBufferHandler rejectedPutHandler = this::discardPutBuffer;
-    private RejectedTakeBufferHandler rejectedTakeHandler = this::exceptionRejectedTakeBuffer; 
-    
-    /** Executor of padding buffer */
-    private BufferPaddingExecutor bufferPaddingExecutor;
-
     /**
      * Constructor with buffer size, paddingFactor default as {@value #DEFAULT_PADDING_PERCENT}
      * 
@@ -84,17 +69,11 @@ public class RingBuffer {
      *        padding buffer will be triggered when tail-cursor<threshold
      */
     public RingBuffer(int bufferSize, int paddingFactor) {
-        // check buffer size is positive & a power of 2; padding factor in (0, 100)
-        Assert.isTrue(bufferSize > 0L, "RingBuffer size must be positive");
-        Assert.isTrue(Integer.bitCount(bufferSize) == 1, "RingBuffer size must be a power of 2");
-        Assert.isTrue(paddingFactor > 0 && paddingFactor < 100, "RingBuffer size must be positive");
+        super(bufferSize, paddingFactor);
 
-        this.bufferSize = bufferSize;
         this.indexMask = bufferSize - 1;
         this.slots = new long[bufferSize];
         this.flags = initFlags(bufferSize);
-        
-        this.paddingThreshold = bufferSize * paddingFactor / 100;
     }
 
     /**
@@ -107,6 +86,7 @@ public class RingBuffer {
      * @param uid
      * @return false means that the buffer is full, apply {@link RejectedPutBufferHandler}
      */
+    @Override
     public synchronized boolean put(long uid) {
         long currentTail = tail.get();
         long currentCursor = cursor.get();
@@ -114,14 +94,14 @@ public class RingBuffer {
         // tail catches the cursor, means that you can't put any cause of RingBuffer is full
         long distance = currentTail - (currentCursor == START_POINT ? 0 : currentCursor);
         if (distance == bufferSize - 1) {
-            rejectedPutHandler.rejectPutBuffer(this, uid);
+            rejectPut(uid);
             return false;
         }
 
         // 1. pre-check whether the flag is CAN_PUT_FLAG
         int nextTailIndex = calSlotIndex(currentTail + 1);
         if (flags[nextTailIndex].get() != CAN_PUT_FLAG) {
-            rejectedPutHandler.rejectPutBuffer(this, uid);
+            rejectPut(uid);
             return false;
         }
 
@@ -131,41 +111,132 @@ public class RingBuffer {
         slots[nextTailIndex] = uid;
         flags[nextTailIndex].set(CAN_TAKE_FLAG);
         tail.incrementAndGet();
+        signalPublished();
 
         // The atomicity of operations above, guarantees by 'synchronized'. In another word,
         // the take operation can't consume the UID we just put, until the tail is published(tail.incrementAndGet())
         return true;
     }
 
+    /**
+     * Put a run of contiguous UIDs starting from <code>firstUid</code> in the ring, then publish the tail once<br>
+     * This is a lock free operation which writes all the slots it can take before moving the tail, so the
+     * consumers can't see any of them until the whole run is published<p>
+     *
+     * <b>Note that: </b> Unlike {@link #put(long)}, there is no monitor here, the caller must guarantee that
+     * only one producer puts at a time, the {@link BufferPaddingExecutor} does it by its running flag
+     *
+     * @param firstUid the first UID of the run
+     * @param count count of UIDs in the run
+     * @return count of UIDs put, less than <code>count</code> means that the buffer is full, the rest of the run
+     *         is kept by the caller
+     */
+    @Override
+    public int putAll(long firstUid, int count) {
+        long currentTail = tail.get();
+        int writable = writableSlots(currentTail, count);
+
+        // put UIDs in the slots until reach a slot which is still being taken
+        int put = 0;
+        for (; put < writable; put++) {
+            int index = calSlotIndex(currentTail + 1 + put);
+            if (flags[index].get() != CAN_PUT_FLAG) {
+                break;
+            }
+            slots[index] = firstUid + put;
+            flags[index].lazySet(CAN_TAKE_FLAG);
+        }
+
+        return publish(currentTail, put);
+    }
+
+    /**
+     * Put all the UIDs of the array in the ring, then publish the tail once, see {@link #putAll(long, int)}
+     *
+     * @param uids UIDs to put
+     * @return count of UIDs put, less than length of the array means that the buffer is full
+     */
+    @Override
+    public int putAll(long[] uids) {
+        long currentTail = tail.get();
+        int writable = writableSlots(currentTail, uids.length);
+
+        // put UIDs in the slots until reach a slot which is still being taken
+        int put = 0;
+        for (; put < writable; put++) {
+            int index = calSlotIndex(currentTail + 1 + put);
+            if (flags[index].get() != CAN_PUT_FLAG) {
+                break;
+            }
+            slots[index] = uids[put];
+            flags[index].lazySet(CAN_TAKE_FLAG);
+        }
+
+        publish(currentTail, put);
+
+        // the rest of the array is discarded
+        if (put < uids.length) {
+            rejectPut(uids[put]);
+        }
+        return put;
+    }
+
+    @Override
+    public int getWritableCount() {
+        return writableSlots(tail.get(), bufferSize);
+    }
+
+    /**
+     * Write a run of contiguous UIDs in the slots from <code>sequence</code>, waits for the slots which are claimed
+     * but not taken yet by the consumers, see {@link RangeWritableBuffer#writeRange(long, long, int)}
+     *
+     * @param sequence position sequence of the first UID
+     * @param firstUid the first UID of the run
+     * @param count count of UIDs in the run
+     */
+    @Override
+    public void writeRange(long sequence, long firstUid, int count) {
+        for (int i = 0; i < count; i++) {
+            int index = calSlotIndex(sequence + i);
+            while (flags[index].get() != CAN_PUT_FLAG) {
+                Thread.yield();
+            }
+            slots[index] = firstUid + i;
+            flags[index].lazySet(CAN_TAKE_FLAG);
+        }
+    }
+
+    @Override
+    public void publishRange(long lastSequence) {
+        tail.set(lastSequence);
+        signalPublished();
+    }
+
     /**
      * Take an UID of the ring at the next cursor, this is a lock free operation by using atomic cursor<p>
      * 
      * Before getting the UID, we also check whether reach the padding threshold, 
      * the padding buffer operation will be triggered in another thread<br>
-     * If there is no more available UID to be taken, the specified {@link RejectedTakeBufferHandler} will be applied<br>
+     * If there is no more available UID to be taken, {@link #EMPTY} is returned
      * 
-     * @return UID
-     * @throws IllegalStateException if the cursor moved back
+     * @return UID, or {@link #EMPTY} if the ring is empty
      */
-    public long take() {
-        // spin get next available cursor
-        long currentCursor = cursor.get();
-        long nextCursor = cursor.updateAndGet(old -> old == tail.get() ? old : old + 1);
-
-        // check for safety consideration, it never occurs
-        Assert.isTrue(nextCursor >= currentCursor, "Curosr can't move back");
+    @Override
+    public long tryTake() {
+        // spin get next available cursor, the cursor is moved only if it doesn't catch the tail
+        long currentCursor;
+        long nextCursor;
+        do {
+            currentCursor = cursor.get();
+            nextCursor = currentCursor == tail.get() ? currentCursor : currentCursor + 1;
+        } while (nextCursor != currentCursor && !cursor.compareAndSet(currentCursor, nextCursor));
 
         // trigger padding in an async-mode if reach the threshold
-        long currentTail = tail.get();
-        if (currentTail - nextCursor < paddingThreshold) {
-            LOGGER.info("Reach the padding threshold:{}. tail:{}, cursor:{}, rest:{}", paddingThreshold, currentTail,
-                    nextCursor, currentTail - nextCursor);
-            bufferPaddingExecutor.asyncPadding();
-        }
+        checkPaddingThreshold(tail.get(), nextCursor);
 
         // cursor catch the tail, means that there is no more available UID to take
         if (nextCursor == currentCursor) {
-            rejectedTakeHandler.rejectTakeBuffer(this);
+            return EMPTY;
         }
 
         // 1. check next slot flag is CAN_TAKE_FLAG
@@ -183,27 +254,76 @@ public class RingBuffer {
     }
 
     /**
-     * Calculate slot index with the slot sequence (sequence % bufferSize) 
+     * Take a batch of UIDs at the next cursor, the cursor is moved forward by up to <code>len</code> slots
+     * in one atomic step, then the claimed slots are copied out in a single pass<p>
+     *
+     * The padding threshold is checked once for the whole batch
+     *
+     * @param dst destination array
+     * @param off offset of the first element to fill
+     * @param len max count of UIDs to take
+     * @return count of UIDs taken, 0 means that the buffer is empty
      */
-    protected int calSlotIndex(long sequence) {
-        return (int) (sequence & indexMask);
+    @Override
+    public int tryTake(long[] dst, int off, int len) {
+        Assert.isTrue(off >= 0 && len > 0 && off + len <= dst.length, "Invalid destination range");
+
+        // claim a run of slots with one CAS, which is bounded by the tail
+        long currentCursor;
+        long nextCursor;
+        do {
+            currentCursor = cursor.get();
+            nextCursor = Math.min(currentCursor + len, tail.get());
+        } while (nextCursor != currentCursor && !cursor.compareAndSet(currentCursor, nextCursor));
+
+        // trigger padding in an async-mode if reach the threshold
+        checkPaddingThreshold(tail.get(), nextCursor);
+
+        // cursor catch the tail, means that there is no more available UID to take
+        if (nextCursor == currentCursor) {
+            return 0;
+        }
+
+        // get UIDs from the claimed slots, then set the flags as CAN_PUT_FLAG one by one
+        int count = (int) (nextCursor - currentCursor);
+        for (int i = 0; i < count; i++) {
+            int index = calSlotIndex(currentCursor + 1 + i);
+            Assert.isTrue(flags[index].get() == CAN_TAKE_FLAG, "Curosr not in can take status");
+
+            dst[off + i] = slots[index];
+            flags[index].set(CAN_PUT_FLAG);
+        }
+
+        return count;
     }
 
     /**
-     * Discard policy for {@link RejectedPutBufferHandler}, we just do logging
+     * Count of the slots can be put from the current tail, at most <code>count</code>
      */
-    protected void discardPutBuffer(RingBuffer ringBuffer, long uid) {
-        LOGGER.warn("Rejected putting buffer for uid:{}. {}", uid, ringBuffer);
+    private int writableSlots(long currentTail, int count) {
+        long currentCursor = cursor.get();
+        long distance = currentTail - (currentCursor == START_POINT ? 0 : currentCursor);
+        return (int) Math.min(count, bufferSize - 1 - distance);
     }
-    
+
     /**
-     * Policy for {@link RejectedTakeBufferHandler}, throws {@link RuntimeException} after logging 
+     * Publish the tail with the count of slots put, the flags written before are visible after that
      */
-    protected void exceptionRejectedTakeBuffer(RingBuffer ringBuffer) {
-        LOGGER.warn("Rejected take buffer. {}", ringBuffer);
-        throw new RuntimeException("Rejected take buffer. " + ringBuffer);
+    private int publish(long currentTail, int put) {
+        if (put > 0) {
+            tail.set(currentTail + put);
+            signalPublished();
+        }
+        return put;
     }
-    
+
+    /**
+     * Calculate slot index with the slot sequence (sequence % bufferSize) 
+     */
+    protected int calSlotIndex(long sequence) {
+        return (int) (sequence & indexMask);
+    }
+
     /**
      * Initialize flags as CAN_PUT_FLAG
      */
@@ -219,33 +339,16 @@ public class RingBuffer {
     /**
      * Getters
      */
+    @Override
     public long getTail() {
         return tail.get();
     }
 
+    @Override
     public long getCursor() {
         return cursor.get();
     }
 
-    public int getBufferSize() {
-        return bufferSize;
-    }
-
-    /**
-     * Setters
-     */
-    public void setBufferPaddingExecutor(BufferPaddingExecutor bufferPaddingExecutor) {
-        this.bufferPaddingExecutor = bufferPaddingExecutor;
-    }
-
-    public void setRejectedPutHandler(RejectedPutBufferHandler rejectedPutHandler) {
-        this.rejectedPutHandler = rejectedPutHandler;
-    }
-
-    public void setRejectedTakeHandler(RejectedTakeBufferHandler rejectedTakeHandler) {
-        this.rejectedTakeHandler = rejectedTakeHandler;
-    }
-
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
@@ -0,0 +1,100 @@
+package com.dekux.uid.buffer;
+
+/**
+ * Listener of the events of the {@link UidBuffer} and the {@link BufferPaddingExecutor}, which replaces the logging
+ * on the take path. All the methods are no-op by default, so an implementation only overrides the events it needs.
+ * The events may be fired concurrently by the consumers and the padding threads, the implementation must be thread
+ * safe and should not block<p>
+ *
+ * The default one is {@link LoggingRingBufferListener}, {@link #NOOP} costs nothing on the take path
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public interface RingBufferListener {
+
+    /**
+     * Listener which ignores all the events
+     */
+    RingBufferListener NOOP = new RingBufferListener() {
+    };
+
+    /**
+     * The rest available UIDs reach the padding threshold, fired only when an async padding is submitted,
+     * not on each take under the threshold
+     *
+     * @param buffer
+     * @param rest count of the rest available UIDs
+     */
+    default void thresholdCrossed(UidBuffer buffer, long rest) {
+    }
+
+    /**
+     * A padding pass is started
+     *
+     * @param buffer
+     * @param lastSecond the last second padded before the pass
+     */
+    default void paddingStarted(UidBuffer buffer, long lastSecond) {
+    }
+
+    /**
+     * A padding pass is finished
+     *
+     * @param buffer
+     * @param lastSecond the last second padded by the pass
+     * @param padded count of UIDs padded by the pass
+     * @param elapsedNanos elapsed time of the pass
+     */
+    default void paddingFinished(UidBuffer buffer, long lastSecond, long padded, long elapsedNanos) {
+    }
+
+    /**
+     * A padding pass is failed, e.g. the provider throws cause of the timestamp bits exhausted. The padding flag
+     * is released, so the next padding still runs, and the exception is rethrown to the caller of the pass
+     *
+     * @param buffer
+     * @param lastSecond the last second padded, counted in tick unit
+     * @param cause
+     */
+    default void paddingFailed(UidBuffer buffer, long lastSecond, Throwable cause) {
+    }
+
+    /**
+     * A padding pass is paused cause of the last second padded reaches the max lead ahead of the clock, the
+     * consumers wait by the {@link WaitStrategy} until the clock catches up
+     *
+     * @param buffer
+     * @param lead seconds of the last second padded ahead of the clock, counted in tick unit
+     */
+    default void paddingThrottled(UidBuffer buffer, long lead) {
+    }
+
+    /**
+     * A padding task is rejected by the padding thread pool or schedule, e.g. they are shut down. Fired on each
+     * signal rejected, which may be on each take under the threshold
+     *
+     * @param buffer
+     */
+    default void paddingRejected(UidBuffer buffer) {
+    }
+
+    /**
+     * Putting an UID is rejected cause of the buffer is full & the UID is discarded, fired before the
+     * {@link RejectedPutBufferHandler}. The rest of a second carried over to the next padding is not rejected
+     *
+     * @param buffer
+     * @param uid the rejected UID
+     */
+    default void putRejected(UidBuffer buffer, long uid) {
+    }
+
+    /**
+     * Taking is rejected cause of the buffer is empty, fired before the {@link RejectedTakeBufferHandler}
+     *
+     * @param buffer
+     */
+    default void takeRejected(UidBuffer buffer) {
+    }
+
+}
@@ -0,0 +1,273 @@
+package com.dekux.uid.buffer;
+
+import com.dekux.uid.utils.PaddedAtomicLong;
+
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Represents a buffer which queues the runs of contiguous UIDs as segment descriptors, instead of storing each UID
+ * in its own slot like {@link RingBuffer}. The UIDs of one second are contiguous, so the buffer only holds a handful
+ * of descriptors whatever the buffer size is, and putting a whole second is done in constant time<p>
+ *
+ * A segment buffer is consisted of:
+ * <li><b>segments:</b> a linked queue of <code>(firstUid, count)</code> descriptors, each with an offset of the UIDs
+ *     claimed. The consumers claim UIDs by fetch-and-add on the offset of the head segment, and move the head to
+ *     the next segment when it is exhausted
+ * <li><b>tail:</b> a sequence of the max position produced
+ * <li><b>cursor:</b> a sequence of the max position claimed, derived from the head segment & its offset
+ *
+ * The buffer size is the max count of UIDs queued, rather than the size of an array. A segment is never
+ * overwritten, it is just dropped once the consumers move over it, so there is no flag per slot
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class SegmentBuffer extends AbstractUidBuffer {
+    /** Constants */
+    private static final int START_POINT = -1;
+
+    /** Head: the segment to claim from */
+    private final AtomicReference<Segment> head;
+
+    /** Last: the segment last put, only accessed by the producer */
+    private Segment last;
+
+    /** Tail: last position sequence to produce */
+    private final AtomicLong tail = new PaddedAtomicLong(START_POINT);
+
+    /**
+     * Constructor with buffer size, paddingFactor default as {@value RingBuffer#DEFAULT_PADDING_PERCENT}
+     *
+     * @param bufferSize must be positive & a power of 2
+     */
+    public SegmentBuffer(int bufferSize) {
+        this(bufferSize, RingBuffer.DEFAULT_PADDING_PERCENT);
+    }
+
+    /**
+     * Constructor with buffer size & padding factor
+     *
+     * @param bufferSize must be positive & a power of 2
+     * @param paddingFactor percent in (0 - 100), see {@link RingBuffer#RingBuffer(int, int)}
+     */
+    public SegmentBuffer(int bufferSize, int paddingFactor) {
+        super(bufferSize, paddingFactor);
+
+        // an empty segment as the start point
+        Segment start = new Segment(0L, 0, START_POINT + 1);
+        this.head = new AtomicReference<>(start);
+        this.last = start;
+    }
+
+    /**
+     * Put an UID as a segment, see {@link #putAll(long, int)}
+     *
+     * @param uid
+     * @return false means that the buffer is full, apply {@link RejectedPutBufferHandler}
+     */
+    @Override
+    public boolean put(long uid) {
+        if (putAll(uid, 1) == 1) {
+            return true;
+        }
+
+        rejectPut(uid);
+        return false;
+    }
+
+    /**
+     * Put a run of contiguous UIDs as one segment, then the tail is moved once<p>
+     *
+     * <b>Note that: </b> There is no monitor here, the caller must guarantee that only one producer puts at a time
+     *
+     * @param firstUid the first UID of the run
+     * @param count count of UIDs in the run
+     * @return count of UIDs put, less than <code>count</code> means that the buffer is full
+     */
+    @Override
+    public int putAll(long firstUid, int count) {
+        return append(firstUid, count);
+    }
+
+    /**
+     * Put all the UIDs of the array, each run of contiguous UIDs is put as one segment, see {@link #putAll(long, int)}
+     *
+     * @param uids UIDs to put
+     * @return count of UIDs put, less than length of the array means that the buffer is full
+     */
+    @Override
+    public int putAll(long[] uids) {
+        int put = 0;
+        while (put < uids.length) {
+            // find the end of the run
+            int end = put + 1;
+            while (end < uids.length && uids[end] == uids[end - 1] + 1) {
+                end++;
+            }
+
+            int count = end - put;
+            int appended = append(uids[put], count);
+            put += appended;
+            if (appended < count) {
+                rejectPut(uids[put]);
+                break;
+            }
+        }
+        return put;
+    }
+
+    /**
+     * Append a segment of the run as many UIDs as the buffer can hold, then publish the tail
+     *
+     * @return count of UIDs appended
+     */
+    private int append(long firstUid, int count) {
+        long currentTail = tail.get();
+        long writable = bufferSize - (currentTail - getCursor());
+        int put = (int) Math.max(0, Math.min(count, writable));
+        if (put == 0) {
+            return 0;
+        }
+
+        // link the segment before moving the tail, so the consumers find it once the tail is visible
+        Segment segment = new Segment(firstUid, put, currentTail + 1);
+        last.next = segment;
+        last = segment;
+        tail.set(currentTail + put);
+        signalPublished();
+        return put;
+    }
+
+    /**
+     * Take an UID of the head segment, the UID is claimed by fetch-and-add on the offset of the segment
+     *
+     * @return UID, or {@link #EMPTY} if the buffer is empty
+     */
+    @Override
+    public long tryTake() {
+        // trigger padding in an async-mode if reach the threshold
+        checkPaddingThreshold(tail.get(), getCursor());
+
+        for (;;) {
+            Segment segment = head.get();
+            int offset = segment.claim(1);
+            if (offset < segment.count) {
+                return segment.firstUid + offset;
+            }
+
+            // the head segment is exhausted, move to the next one
+            Segment next = segment.next;
+            if (next == null) {
+                return EMPTY;
+            }
+            head.compareAndSet(segment, next);
+        }
+    }
+
+    /**
+     * Take a batch of UIDs of the head segment, the UIDs are claimed by one fetch-and-add on the offset of the
+     * segment, so the count taken may be less than <code>len</code> at the end of a segment
+     *
+     * @param dst destination array
+     * @param off offset of the first element to fill
+     * @param len max count of UIDs to take
+     * @return count of UIDs taken, 0 means that the buffer is empty
+     */
+    @Override
+    public int tryTake(long[] dst, int off, int len) {
+        // trigger padding in an async-mode if reach the threshold
+        checkPaddingThreshold(tail.get(), getCursor());
+
+        for (;;) {
+            Segment segment = head.get();
+            int offset = segment.claim(len);
+            if (offset < segment.count) {
+                int count = Math.min(len, segment.count - offset);
+                long firstUid = segment.firstUid + offset;
+                for (int i = 0; i < count; i++) {
+                    dst[off + i] = firstUid + i;
+                }
+                return count;
+            }
+
+            // the head segment is exhausted, move to the next one
+            Segment next = segment.next;
+            if (next == null) {
+                return 0;
+            }
+            head.compareAndSet(segment, next);
+        }
+    }
+
+    /**
+     * Getters
+     */
+    @Override
+    public long getTail() {
+        return tail.get();
+    }
+
+    /**
+     * The cursor is the position of the last UID claimed of the head segment
+     */
+    @Override
+    public long getCursor() {
+        Segment segment = head.get();
+        return segment.startSequence + Math.min(segment.offset, segment.count) - 1;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("SegmentBuffer [bufferSize=").append(bufferSize)
+               .append(", tail=").append(tail)
+               .append(", cursor=").append(getCursor())
+               .append(", paddingThreshold=").append(paddingThreshold).append("]");
+
+        return builder.toString();
+    }
+
+    /**
+     * Represents a run of contiguous UIDs in the buffer
+     */
+    private static final class Segment {
+        private static final AtomicIntegerFieldUpdater<Segment> OFFSET =
+                AtomicIntegerFieldUpdater.newUpdater(Segment.class, "offset");
+
+        /** The first UID & count of the run */
+        private final long firstUid;
+        private final int count;
+
+        /** Position sequence of the first UID */
+        private final long startSequence;
+
+        /** Offset of the UIDs claimed, may overrun the count by the concurrent claims */
+        private volatile int offset;
+
+        /** Next segment put */
+        private volatile Segment next;
+
+        private Segment(long firstUid, int count, long startSequence) {
+            this.firstUid = firstUid;
+            this.count = count;
+            this.startSequence = startSequence;
+        }
+
+        /**
+         * Claim at most <code>len</code> UIDs, the offset is not moved once the segment is exhausted, so it never
+         * overflows by the claims on an exhausted segment
+         *
+         * @return offset of the first UID claimed, not less than the count means that the segment is exhausted
+         */
+        private int claim(int len) {
+            int current = offset;
+            if (current >= count) {
+                return count;
+            }
+            return OFFSET.getAndAdd(this, Math.min(len, count - current));
+        }
+    }
+
+}
@@ -0,0 +1,301 @@
+package com.dekux.uid.buffer;
+
+import com.dekux.uid.utils.PaddedAtomicLong;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Represents a ring buffer which stamps each slot with a sequence, instead of the per-slot flag objects of
+ * {@link RingBuffer}<p>
+ *
+ * A sequence ring buffer is consisted of:
+ * <li><b>slots:</b> each element of the array is a slot, which is be set with a UID
+ * <li><b>stamps:</b> a flat primitive array corresponding the same index with the slots. The stamp
+ *     <code>sequence * 2</code> means that the slot can be put with the sequence, and <code>sequence * 2 + 1</code>
+ *     means that the sequence has been published and can be taken
+ * <li><b>tail:</b> a sequence of the max slot position to produce
+ * <li><b>cursor:</b> a sequence of the max slot position claimed by the consumers
+ *
+ * The stamps replace the per-slot flag objects only, which makes the buffer much smaller & leaves no objects for the
+ * GC to scan, and lets the producer put without checking the flag objects. Consumers claim slots by the same CAS on
+ * the cursor bounded by the tail as {@link RingBuffer}, not by a fetch-and-add: a claim beyond the tail would have to
+ * wait for the producer or leave a hole in the ring. So a claimed sequence is always published and never waited for,
+ * {@link #tryTake()} returns {@link #EMPTY} once the buffer is exhausted, and the contention on the cursor is the same
+ * as {@link RingBuffer}, use the shards of the cached generator to spread it on many cores
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class SequenceRingBuffer extends AbstractUidBuffer implements RangeWritableBuffer {
+    /** Constants */
+    private static final int START_POINT = -1;
+
+    /** The slots & stamps of the buffer */
+    private final long indexMask;
+    private final long[] slots;
+    private final AtomicLongArray stamps;
+
+    /** Tail: last position sequence to produce */
+    private final AtomicLong tail = new PaddedAtomicLong(START_POINT);
+
+    /** Cursor: last position sequence claimed to consume */
+    private final AtomicLong cursor = new PaddedAtomicLong(START_POINT);
+
+    /**
+     * Constructor with buffer size, paddingFactor default as {@value RingBuffer#DEFAULT_PADDING_PERCENT}
+     *
+     * @param bufferSize must be positive & a power of 2
+     */
+    public SequenceRingBuffer(int bufferSize) {
+        this(bufferSize, RingBuffer.DEFAULT_PADDING_PERCENT);
+    }
+
+    /**
+     * Constructor with buffer size & padding factor
+     *
+     * @param bufferSize must be positive & a power of 2
+     * @param paddingFactor percent in (0 - 100), see {@link RingBuffer#RingBuffer(int, int)}
+     */
+    public SequenceRingBuffer(int bufferSize, int paddingFactor) {
+        super(bufferSize, paddingFactor);
+
+        this.indexMask = bufferSize - 1;
+        this.slots = new long[bufferSize];
+        this.stamps = initStamps(bufferSize);
+    }
+
+    /**
+     * Put an UID in the ring & tail moved, see {@link #putAll(long, int)}
+     *
+     * @param uid
+     * @return false means that the buffer is full, apply {@link RejectedPutBufferHandler}
+     */
+    @Override
+    public boolean put(long uid) {
+        if (putAll(uid, 1) == 1) {
+            return true;
+        }
+
+        rejectPut(uid);
+        return false;
+    }
+
+    /**
+     * Put a run of contiguous UIDs in the ring, each slot is published by its stamp, then the tail is moved once<p>
+     *
+     * <b>Note that: </b> There is no monitor here, the caller must guarantee that only one producer puts at a time
+     *
+     * @param firstUid the first UID of the run
+     * @param count count of UIDs in the run
+     * @return count of UIDs put, less than <code>count</code> means that the buffer is full
+     */
+    @Override
+    public int putAll(long firstUid, int count) {
+        long currentTail = tail.get();
+
+        // put UIDs in the slots until reach a slot which is not taken yet
+        int put = 0;
+        for (; put < count; put++) {
+            long sequence = currentTail + 1 + put;
+            int index = calSlotIndex(sequence);
+            if (stamps.get(index) != sequence << 1) {
+                break;
+            }
+            slots[index] = firstUid + put;
+            stamps.lazySet(index, (sequence << 1) + 1);
+        }
+
+        return publish(currentTail, put);
+    }
+
+    /**
+     * Put all the UIDs of the array in the ring, see {@link #putAll(long, int)}
+     *
+     * @param uids UIDs to put
+     * @return count of UIDs put, less than length of the array means that the buffer is full
+     */
+    @Override
+    public int putAll(long[] uids) {
+        long currentTail = tail.get();
+
+        // put UIDs in the slots until reach a slot which is not taken yet
+        int put = 0;
+        for (; put < uids.length; put++) {
+            long sequence = currentTail + 1 + put;
+            int index = calSlotIndex(sequence);
+            if (stamps.get(index) != sequence << 1) {
+                break;
+            }
+            slots[index] = uids[put];
+            stamps.lazySet(index, (sequence << 1) + 1);
+        }
+
+        publish(currentTail, put);
+
+        // the rest of the array is discarded
+        if (put < uids.length) {
+            rejectPut(uids[put]);
+        }
+        return put;
+    }
+
+    /**
+     * Count of the slots can be put after the tail, the slots claimed but not read yet are counted
+     */
+    @Override
+    public int getWritableCount() {
+        return (int) (bufferSize - (tail.get() - cursor.get()));
+    }
+
+    /**
+     * Write a run of contiguous UIDs in the slots from <code>sequence</code>, waits for the slots which are claimed
+     * but not taken yet by the consumers, see {@link RangeWritableBuffer#writeRange(long, long, int)}
+     *
+     * @param sequence position sequence of the first UID
+     * @param firstUid the first UID of the run
+     * @param count count of UIDs in the run
+     */
+    @Override
+    public void writeRange(long sequence, long firstUid, int count) {
+        for (int i = 0; i < count; i++) {
+            long current = sequence + i;
+            int index = calSlotIndex(current);
+            while (stamps.get(index) != current << 1) {
+                Thread.yield();
+            }
+            slots[index] = firstUid + i;
+            stamps.lazySet(index, (current << 1) + 1);
+        }
+    }
+
+    @Override
+    public void publishRange(long lastSequence) {
+        tail.set(lastSequence);
+        signalPublished();
+    }
+
+    /**
+     * Take an UID of the ring, the slot is claimed by a CAS on the cursor, which never moves beyond the tail
+     *
+     * @return UID, or {@link #EMPTY} if the ring is empty
+     */
+    @Override
+    public long tryTake() {
+        // spin get next available cursor, the cursor is moved only if it doesn't catch the tail
+        long currentCursor;
+        long nextCursor;
+        do {
+            currentCursor = cursor.get();
+            nextCursor = currentCursor == tail.get() ? currentCursor : currentCursor + 1;
+        } while (nextCursor != currentCursor && !cursor.compareAndSet(currentCursor, nextCursor));
+
+        // trigger padding in an async-mode if reach the threshold
+        checkPaddingThreshold(tail.get(), nextCursor);
+
+        // cursor catch the tail, means that there is no more available UID to take
+        if (nextCursor == currentCursor) {
+            return EMPTY;
+        }
+
+        return read(nextCursor);
+    }
+
+    /**
+     * Take a batch of UIDs of the ring, the slots are claimed by one CAS on the cursor, which is bounded by the tail
+     *
+     * @param dst destination array
+     * @param off offset of the first element to fill
+     * @param len max count of UIDs to take
+     * @return count of UIDs taken, 0 means that the buffer is empty
+     */
+    @Override
+    public int tryTake(long[] dst, int off, int len) {
+        // claim a run of slots with one CAS, which is bounded by the tail
+        long currentCursor;
+        long nextCursor;
+        do {
+            currentCursor = cursor.get();
+            nextCursor = Math.min(currentCursor + len, tail.get());
+        } while (nextCursor != currentCursor && !cursor.compareAndSet(currentCursor, nextCursor));
+
+        // trigger padding in an async-mode if reach the threshold
+        checkPaddingThreshold(tail.get(), nextCursor);
+
+        // cursor catch the tail, means that there is no more available UID to take
+        int count = (int) (nextCursor - currentCursor);
+        for (int i = 0; i < count; i++) {
+            dst[off + i] = read(currentCursor + 1 + i);
+        }
+
+        return count;
+    }
+
+    /**
+     * Read the UID of the claimed sequence, then stamp the slot as it can be put with the sequence of next round.
+     * The claimed sequence is never beyond the tail, so the slot has been published before
+     */
+    private long read(long sequence) {
+        int index = calSlotIndex(sequence);
+
+        // Note that: read the slot before stamping it, otherwise the producer may overwrite the slot
+        long uid = slots[index];
+        stamps.lazySet(index, (sequence + bufferSize) << 1);
+        return uid;
+    }
+
+    /**
+     * Publish the tail with the count of slots put
+     */
+    private int publish(long currentTail, int put) {
+        if (put > 0) {
+            tail.set(currentTail + put);
+            signalPublished();
+        }
+        return put;
+    }
+
+    /**
+     * Calculate slot index with the slot sequence (sequence % bufferSize)
+     */
+    protected int calSlotIndex(long sequence) {
+        return (int) (sequence & indexMask);
+    }
+
+    /**
+     * Initialize stamps as the slots can be put with the sequences of the first round
+     */
+    private AtomicLongArray initStamps(int bufferSize) {
+        long[] stamps = new long[bufferSize];
+        for (int i = 0; i < bufferSize; i++) {
+            stamps[i] = (long) i << 1;
+        }
+
+        return new AtomicLongArray(stamps);
+    }
+
+    /**
+     * Getters
+     */
+    @Override
+    public long getTail() {
+        return tail.get();
+    }
+
+    @Override
+    public long getCursor() {
+        return cursor.get();
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("SequenceRingBuffer [bufferSize=").append(bufferSize)
+               .append(", tail=").append(tail)
+               .append(", cursor=").append(cursor)
+               .append(", paddingThreshold=").append(paddingThreshold).append("]");
+
+        return builder.toString();
+    }
+
+}
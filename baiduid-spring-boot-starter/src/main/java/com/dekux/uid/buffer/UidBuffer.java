@@ -0,0 +1,136 @@
+package com.dekux.uid.buffer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a buffer of UIDs, which is filled by the {@link BufferPaddingExecutor} and taken by the cached
+ * generators. The buffer keeps two sequences:
+ * <li><b>tail:</b> a sequence of the max position produced
+ * <li><b>cursor:</b> a sequence of the max position consumed
+ *
+ * The default implementation is {@link RingBuffer}, see {@link BufferType} for the others
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public interface UidBuffer {
+
+    /**
+     * Returned by {@link #tryTake()} if the buffer is empty, which never conflicts with an UID cause of the
+     * highest bit of UID is always 0 for sign
+     */
+    long EMPTY = -1L;
+
+    /**
+     * Put an UID in the buffer
+     *
+     * @param uid
+     * @return false means that the buffer is full, apply {@link RejectedPutBufferHandler}
+     */
+    boolean put(long uid);
+
+    /**
+     * Put a run of contiguous UIDs starting from <code>firstUid</code> in the buffer, the caller must guarantee
+     * that only one producer puts at a time. The rest of the run is not rejected when the buffer is full, it is kept
+     * by the caller to put later, so the {@link RejectedPutBufferHandler} is not applied
+     *
+     * @param firstUid the first UID of the run
+     * @param count count of UIDs in the run
+     * @return count of UIDs put, less than <code>count</code> means that the buffer is full
+     */
+    int putAll(long firstUid, int count);
+
+    /**
+     * Put all the UIDs of the array in the buffer, the caller must guarantee that only one producer puts at a time.
+     * The rest of the array is discarded when the buffer is full, apply {@link RejectedPutBufferHandler} for the
+     * first discarded UID
+     *
+     * @param uids UIDs to put
+     * @return count of UIDs put, less than length of the array means that the buffer is full
+     */
+    int putAll(long[] uids);
+
+    /**
+     * Take an UID of the buffer, if there is no more available UID to be taken after waiting by the
+     * {@link WaitStrategy}, the {@link RejectedTakeBufferHandler} will be applied
+     *
+     * @return UID
+     */
+    long take();
+
+    /**
+     * Take a batch of UIDs of the buffer, if there is no more available UID to be taken after waiting by the
+     * {@link WaitStrategy}, the {@link RejectedTakeBufferHandler} will be applied
+     *
+     * @param dst destination array
+     * @param off offset of the first element to fill
+     * @param len max count of UIDs to take
+     * @return count of UIDs taken, 0 means that the buffer is empty
+     */
+    int take(long[] dst, int off, int len);
+
+    /**
+     * Try to take an UID of the buffer without waiting, the {@link RejectedTakeBufferHandler} is never applied
+     *
+     * @return UID, or {@link #EMPTY} if the buffer is empty
+     */
+    long tryTake();
+
+    /**
+     * Try to take a batch of UIDs of the buffer without waiting, the {@link RejectedTakeBufferHandler} is never applied
+     *
+     * @param dst destination array
+     * @param off offset of the first element to fill
+     * @param len max count of UIDs to take
+     * @return count of UIDs taken, 0 means that the buffer is empty
+     */
+    int tryTake(long[] dst, int off, int len);
+
+    /**
+     * Getters
+     */
+    long getTail();
+
+    long getCursor();
+
+    int getBufferSize();
+
+    int getPaddingThreshold();
+
+    /**
+     * Setters
+     */
+    void setBufferPaddingExecutor(BufferPaddingExecutor bufferPaddingExecutor);
+
+    /**
+     * Set the threshold of the rest available UIDs to trigger padding, which is bounded by the implementation
+     *
+     * @param paddingThreshold
+     */
+    void setPaddingThreshold(int paddingThreshold);
+
+    void setRejectedPutHandler(RejectedPutBufferHandler rejectedPutHandler);
+
+    void setRejectedTakeHandler(RejectedTakeBufferHandler rejectedTakeHandler);
+
+    void setListener(RingBufferListener listener);
+
+    /**
+     * Set the strategy to wait for new UIDs when the buffer is empty, before the {@link RejectedTakeBufferHandler}
+     * is applied
+     *
+     * @param waitStrategy {@link WaitStrategy}
+     * @param timeout max time to wait for each take
+     * @param unit unit of the timeout
+     */
+    void setWaitStrategy(WaitStrategy waitStrategy, long timeout, TimeUnit unit);
+
+    /**
+     * Retire the buffer when it is switched by resizing, which is never padded again. The consumers waiting are
+     * woken up, then {@link #take()} takes from the successor instead of waiting or rejecting once the buffer is empty
+     *
+     * @param successor the buffer switched to
+     */
+    void retire(UidBuffer successor);
+
+}
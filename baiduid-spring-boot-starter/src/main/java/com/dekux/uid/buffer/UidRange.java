@@ -0,0 +1,66 @@
+package com.dekux.uid.buffer;
+
+/**
+ * Represents a run of contiguous UIDs provided by the {@link BufferedUidProvider}, the UIDs of a second are
+ * contiguous, so the run is only the first UID & the count instead of a list of UIDs<p>
+ *
+ * The range is a mutable holder reused by the {@link BufferPaddingExecutor} for each second, so padding allocates
+ * nothing. The UIDs not put in a full buffer are kept in the range for the next padding instead of being dropped.
+ * It is only accessed by the padding thread
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class UidRange {
+
+    /** The first UID of the run */
+    private long firstUid;
+
+    /** Count of UIDs in the run */
+    private int count;
+
+    /**
+     * Set the run of UIDs
+     *
+     * @param firstUid the first UID of the run
+     * @param count count of UIDs in the run
+     */
+    public void set(long firstUid, int count) {
+        this.firstUid = firstUid;
+        this.count = count;
+    }
+
+    /**
+     * Skip the first UIDs of the run, which have been put
+     *
+     * @param skipped count of UIDs to skip, not greater than the count
+     */
+    public void skip(int skipped) {
+        this.firstUid += skipped;
+        this.count -= skipped;
+    }
+
+    /**
+     * Whether all the UIDs of the run have been put
+     */
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    /**
+     * Getters
+     */
+    public long getFirstUid() {
+        return firstUid;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return "UidRange [firstUid=" + firstUid + ", count=" + count + "]";
+    }
+
+}
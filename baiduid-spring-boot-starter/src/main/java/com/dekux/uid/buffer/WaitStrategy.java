@@ -0,0 +1,47 @@
+package com.dekux.uid.buffer;
+
+/**
+ * Strategy to wait for the {@link BufferPaddingExecutor} to publish new UIDs when the buffer is empty, instead of
+ * rejecting the take request at once. The {@link RejectedTakeBufferHandler} is applied only if the buffer is still
+ * empty after the timeout<p>
+ *
+ * The buffer calls {@link #signalAll()} each time the tail is published, so the blocking strategies can be woken
+ *
+ * @author yuan
+ * @since 1.2
+ */
+@FunctionalInterface
+public interface WaitStrategy {
+
+    /**
+     * Never wait, reject the take request as soon as the buffer is empty
+     */
+    WaitStrategy NONE = (buffer, timeoutNanos) -> false;
+
+    /**
+     * Wait until the buffer has available UIDs, or the timeout elapsed
+     *
+     * @param buffer the empty buffer
+     * @param timeoutNanos max time to wait, unit as nanoseconds
+     * @return true means that there may be available UIDs to take, false means that the timeout elapsed or the
+     *         thread is interrupted, the interrupt flag is kept for the caller to stop waiting
+     */
+    boolean waitFor(UidBuffer buffer, long timeoutNanos);
+
+    /**
+     * Signal the waiting consumers that new UIDs are published
+     */
+    default void signalAll() {
+    }
+
+    /**
+     * Whether the buffer has available UIDs to take
+     *
+     * @param buffer
+     * @return true if the tail is ahead of the cursor
+     */
+    static boolean isAvailable(UidBuffer buffer) {
+        return buffer.getTail() > buffer.getCursor();
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.dekux.uid.buffer;
+
+/**
+ * Types of the {@link WaitStrategy} applied when the buffer is empty
+ * <li>NONE: never wait, the {@link RejectedTakeBufferHandler} is applied at once
+ * <li>BUSY_SPIN: {@link BusySpinWaitStrategy}, lowest latency, burns a core while waiting
+ * <li>YIELD: {@link YieldingWaitStrategy}, low latency, yields the core to the other threads
+ * <li>PARK: {@link ParkingWaitStrategy}, parks with an exponential backoff
+ * <li>BLOCKING: {@link BlockingWaitStrategy}, blocks until the tail is published, no CPU while waiting
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public enum WaitStrategyType {
+
+    NONE, BUSY_SPIN, YIELD, PARK, BLOCKING;
+
+    /**
+     * Create a wait strategy of this type, the stateful strategies must not be shared by buffers
+     *
+     * @return wait strategy
+     */
+    public WaitStrategy create() {
+        switch (this) {
+            case BUSY_SPIN:
+                return new BusySpinWaitStrategy();
+            case YIELD:
+                return new YieldingWaitStrategy();
+            case PARK:
+                return new ParkingWaitStrategy();
+            case BLOCKING:
+                return new BlockingWaitStrategy();
+            case NONE:
+            default:
+                return WaitStrategy.NONE;
+        }
+    }
+
+}
@@ -0,0 +1,24 @@
+package com.dekux.uid.buffer;
+
+/**
+ * Wait by yielding the thread between the checks of the tail, which keeps a low latency and lets the other
+ * threads run on the core, such as the padding thread
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class YieldingWaitStrategy implements WaitStrategy {
+
+    @Override
+    public boolean waitFor(UidBuffer buffer, long timeoutNanos) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (!WaitStrategy.isAvailable(buffer)) {
+            if (System.nanoTime() - deadline >= 0) {
+                return false;
+            }
+            Thread.yield();
+        }
+        return true;
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.dekux.uid.clock;
+
+import com.dekux.uid.utils.NamingThreadFactory;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Represents a coarse {@link TimeSource} which caches the system clock in a volatile field, the field is updated by
+ * a daemon ticker thread every resolution milliseconds. So reading the time on the hot path is just a volatile read
+ * instead of a call of {@link System#currentTimeMillis()}<p>
+ *
+ * The time read may lag behind the system clock by about one resolution, which must not be greater than the tick
+ * unit of the generators. The ticker is stopped by {@link #shutdown()}
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class CachedTimeSource implements TimeSource {
+    /** Constants */
+    private static final String TICKER_NAME = "UidGenerator-Clock-Ticker";
+    public static final long DEFAULT_RESOLUTION_MILLIS = 1L;
+
+    /** Cached time in milliseconds */
+    private volatile long currentTimeMillis = System.currentTimeMillis();
+
+    /** Ticker thread */
+    private final ScheduledExecutorService ticker;
+
+    /**
+     * Constructor with the resolution default as {@value #DEFAULT_RESOLUTION_MILLIS} ms
+     */
+    public CachedTimeSource() {
+        this(DEFAULT_RESOLUTION_MILLIS);
+    }
+
+    /**
+     * Constructor with the resolution, the ticker is started at once
+     *
+     * @param resolutionMillis interval to update the cached time, unit as milliseconds
+     */
+    public CachedTimeSource(long resolutionMillis) {
+        Assert.isTrue(resolutionMillis > 0, "Resolution millis must be positive!");
+        this.ticker = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(TICKER_NAME, true));
+        ticker.scheduleAtFixedRate(() -> currentTimeMillis = System.currentTimeMillis(), resolutionMillis,
+                resolutionMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        return currentTimeMillis;
+    }
+
+    /**
+     * Stop the ticker, the time is not updated any more
+     */
+    public void shutdown() {
+        ticker.shutdownNow();
+    }
+
+}
@@ -0,0 +1,111 @@
+package com.dekux.uid.clock;
+
+import org.springframework.util.Assert;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents a monotonic {@link TimeSource}, the wall time is anchored once at the construction, and then advanced
+ * by {@link System#nanoTime()}, so it never moves backwards even if the system clock is stepped back by NTP, and the
+ * generators never refuse to generate UID for the clock moved backwards<p>
+ *
+ * The system clock is compared every correction interval, if it is ahead of this time (drift or stepped forward),
+ * this time is corrected forward by at most max slew milliseconds per interval, so a big step is slewed smoothly.
+ * If the system clock is behind this time, nothing is corrected, this time keeps going ahead of the system clock<p>
+ *
+ * <b>Note that: </b> The time ahead of the system clock is lost when the process restarts, the same as borrowing
+ * from the future, so a restart must take longer than the clock was stepped back if the worker id is reused
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class MonotonicTimeSource implements TimeSource {
+    /** Constants */
+    public static final long DEFAULT_CORRECTION_INTERVAL_MILLIS = 1000L;
+    public static final long DEFAULT_MAX_SLEW_MILLIS = 100L;
+    private static final long NANOS_PER_MILLI = TimeUnit.MILLISECONDS.toNanos(1);
+
+    /** Anchor of the wall time & the nano time */
+    private final long anchorMillis;
+    private final long anchorNanos;
+
+    /** Corrections to the anchor, only increases */
+    private volatile long offsetMillis;
+
+    /** Max time returned, so the threads read a stale offset never see the time moved backwards */
+    private final AtomicLong lastMillis = new AtomicLong();
+
+    /** Nano time of the next correction, the correction is claimed by CAS */
+    private final AtomicLong nextCorrectionNanos;
+    private final long correctionIntervalNanos;
+    private final long maxSlewMillis;
+
+    /**
+     * Constructor with the correction interval default as {@value #DEFAULT_CORRECTION_INTERVAL_MILLIS} ms, and the
+     * max slew default as {@value #DEFAULT_MAX_SLEW_MILLIS} ms per interval
+     */
+    public MonotonicTimeSource() {
+        this(DEFAULT_CORRECTION_INTERVAL_MILLIS, DEFAULT_MAX_SLEW_MILLIS);
+    }
+
+    /**
+     * Constructor with the correction interval & the max slew per interval
+     *
+     * @param correctionIntervalMillis interval to compare with the system clock, unit as milliseconds
+     * @param maxSlewMillis max milliseconds to correct forward per interval
+     */
+    public MonotonicTimeSource(long correctionIntervalMillis, long maxSlewMillis) {
+        Assert.isTrue(correctionIntervalMillis > 0, "Correction interval millis must be positive!");
+        Assert.isTrue(maxSlewMillis >= 0, "Max slew millis must not be negative!");
+        this.anchorMillis = System.currentTimeMillis();
+        this.anchorNanos = System.nanoTime();
+        this.correctionIntervalNanos = TimeUnit.MILLISECONDS.toNanos(correctionIntervalMillis);
+        this.maxSlewMillis = maxSlewMillis;
+        this.nextCorrectionNanos = new AtomicLong(anchorNanos + correctionIntervalNanos);
+    }
+
+    @Override
+    public long currentTimeMillis() {
+        long nanos = System.nanoTime();
+        long nextCorrection = nextCorrectionNanos.get();
+        if (nanos - nextCorrection >= 0
+                && nextCorrectionNanos.compareAndSet(nextCorrection, nanos + correctionIntervalNanos)) {
+            correct(nanos);
+        }
+
+        // the max time is only written once per millisecond
+        long millis = monotonicMillis(nanos);
+        long last;
+        while (millis > (last = lastMillis.get())) {
+            if (lastMillis.compareAndSet(last, millis)) {
+                return millis;
+            }
+        }
+        return last;
+    }
+
+    /**
+     * Correct forward if the system clock is ahead, only the thread claimed the correction gets here
+     */
+    private void correct(long nanos) {
+        long lagMillis = System.currentTimeMillis() - monotonicMillis(nanos);
+        if (lagMillis > 0) {
+            offsetMillis += Math.min(lagMillis, maxSlewMillis);
+        }
+    }
+
+    private long monotonicMillis(long nanos) {
+        return anchorMillis + offsetMillis + (nanos - anchorNanos) / NANOS_PER_MILLI;
+    }
+
+    /**
+     * Milliseconds this time is ahead of the system clock, negative means behind
+     *
+     * @return ahead milliseconds
+     */
+    public long getAheadMillis() {
+        return currentTimeMillis() - System.currentTimeMillis();
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.dekux.uid.clock;
+
+/**
+ * Source of the current time for the generators & the {@link com.dekux.uid.buffer.BufferPaddingExecutor}, one
+ * source can be shared by all of them so they have one consistent view of the time
+ *
+ * @author yuan
+ * @since 1.2
+ */
+@FunctionalInterface
+public interface TimeSource {
+
+    /**
+     * Read the system clock on each call
+     */
+    TimeSource SYSTEM = System::currentTimeMillis;
+
+    /**
+     * Current time in milliseconds since the epoch of 1970-01-01T00:00:00Z
+     *
+     * @return current time, unit as milliseconds
+     */
+    long currentTimeMillis();
+
+}
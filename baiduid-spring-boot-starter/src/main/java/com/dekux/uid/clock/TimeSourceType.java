@@ -0,0 +1,34 @@
+package com.dekux.uid.clock;
+
+/**
+ * Types of the {@link TimeSource}
+ * <li>SYSTEM: {@link TimeSource#SYSTEM}, reads the system clock on each call
+ * <li>CACHED: {@link CachedTimeSource}, reads the system clock cached by a ticker thread every millisecond
+ * <li>MONOTONIC: {@link MonotonicTimeSource}, advances the wall time anchored at startup by the nano time, never
+ *     moves backwards with the system clock
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public enum TimeSourceType {
+
+    SYSTEM, CACHED, MONOTONIC;
+
+    /**
+     * Create a time source of this type, the {@link CachedTimeSource} starts a ticker thread
+     *
+     * @return time source
+     */
+    public TimeSource create() {
+        switch (this) {
+            case CACHED:
+                return new CachedTimeSource();
+            case MONOTONIC:
+                return new MonotonicTimeSource();
+            case SYSTEM:
+            default:
+                return TimeSource.SYSTEM;
+        }
+    }
+
+}
@@ -3,10 +3,19 @@ package com.dekux.uid.config;
 import com.dekux.uid.UidGenerator;
 import com.dekux.uid.buffer.RejectedPutBufferHandler;
 import com.dekux.uid.buffer.RejectedTakeBufferHandler;
+import com.dekux.uid.buffer.RingBufferListener;
+import com.dekux.uid.clock.TimeSource;
 import com.dekux.uid.impl.CachedUidGenerator;
+import com.dekux.uid.impl.LockFreeUidGenerator;
+import com.dekux.uid.impl.ShardedCachedUidGenerator;
+import com.dekux.uid.metrics.UidGeneratorMetrics;
+import com.dekux.uid.reactive.ReactiveUidGenerator;
+import com.dekux.uid.utils.PaddingExecutors;
+import com.dekux.uid.utils.SharedPaddingExecutors;
 import com.dekux.uid.worker.WorkerIdAssigner;
 import com.dekux.uid.worker.impl.jpa.JpaDisposableWorkerIdAssigner;
 import com.dekux.uid.worker.impl.mybatis.MybatisDisposableWorkerIdAssigner;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import org.apache.ibatis.session.SqlSessionFactory;
 import org.hibernate.engine.spi.SessionImplementor;
 import org.mybatis.spring.SqlSessionFactoryBean;
@@ -17,8 +26,10 @@ import org.springframework.boot.context.properties.EnableConfigurationProperties
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import reactor.core.publisher.Flux;
 
 import javax.persistence.EntityManager;
+import java.util.concurrent.ExecutorService;
 
 /**
  * 自动配置类
@@ -29,6 +40,8 @@ import javax.persistence.EntityManager;
 @Configuration
 @EnableConfigurationProperties(BaiduidProperties.class)
 public class BaiduidAutoConfiguration {
+    private static final String PADDING_WORKER_NAME = "RingBuffer-Padding-Worker";
+    private static final String PADDING_SCHEDULE_NAME = "RingBuffer-Padding-Schedule";
 
     private final BaiduidProperties baiduidProperties;
     private final WorkerIdAssigner workerIdAssigner;
@@ -46,41 +59,146 @@ public class BaiduidAutoConfiguration {
      */
     private final RejectedTakeBufferHandler rejectedTakeBufferHandler;
 
+    /**
+     * RingBuffer事件监听: 阈值触发填充, 填充开始/结束, Put/Take被拒绝
+     * 默认无需指定, 将以限流的方式记录日志(同类事件每秒最多一条). 如需接入监控,
+     * 请实现RingBufferListener接口并注册为Bean, 不需要任何输出可使用RingBufferListener.NOOP
+     */
+    private final RingBufferListener ringBufferListener;
+
     public BaiduidAutoConfiguration(BaiduidProperties baiduidProperties,
                                     ObjectProvider<RejectedPutBufferHandler> rejectedPutBufferHandlerProvider,
                                     ObjectProvider<RejectedTakeBufferHandler> rejectedTakeBufferHandlerProvider,
+                                    ObjectProvider<RingBufferListener> ringBufferListenerProvider,
                                     WorkerIdAssigner workerIdAssigner) {
         this.baiduidProperties = baiduidProperties;
         this.workerIdAssigner = workerIdAssigner;
         this.rejectedPutBufferHandler = rejectedPutBufferHandlerProvider.getIfAvailable();
         this.rejectedTakeBufferHandler = rejectedTakeBufferHandlerProvider.getIfAvailable();
+        this.ringBufferListener = ringBufferListenerProvider.getIfAvailable();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public TimeSource uidTimeSource() {
+        return baiduidProperties.getTimeSource().create();
+    }
+
+    /**
+     * 填充RingBuffer的线程池与周期性填充的Schedule线程, 同一时刻每个RingBuffer最多只有一个填充任务, 所以由所有生成器共用.
+     * 线程池大小与生成器自行创建时相同, 为CPU核数的2倍, 线程在提交任务时才创建. Schedule总会创建, 但其线程在首次调度时才启动:
+     * 配置了scheduleInterval时用于周期性填充, max-lead-seconds的重试也复用它; 未配置时生成器不使用它, 重试在首次暂停填充时
+     * 由各生成器自行创建Schedule线程. 自适应大小的检查始终使用各生成器自己的Schedule线程.
+     * 以SharedPaddingExecutors包装后注册, 不会注册为ExecutorService类型的Bean, 以免Spring Boot的任务执行/调度自动配置失效,
+     * 或@Scheduled任务被填充线程执行
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public SharedPaddingExecutors uidPaddingExecutors() {
+        ExecutorService executor;
+        if (baiduidProperties.isVirtualThreads()) {
+            executor = PaddingExecutors.newVirtualThreadExecutor(PADDING_WORKER_NAME);
+        } else {
+            executor = PaddingExecutors.newPaddingExecutor(PADDING_WORKER_NAME, Runtime.getRuntime().availableProcessors() * 2);
+        }
+        return new SharedPaddingExecutors(executor, PaddingExecutors.newPaddingSchedule(PADDING_SCHEDULE_NAME));
     }
 
     @Bean
     @ConditionalOnMissingBean
-    public UidGenerator cachedUidGenerator() {
-        CachedUidGenerator cachedUidGenerator = new CachedUidGenerator();
+    public UidGenerator cachedUidGenerator(TimeSource uidTimeSource, SharedPaddingExecutors uidPaddingExecutors) {
+        if (!baiduidProperties.isCached()) {
+            return lockFreeUidGenerator(uidTimeSource);
+        }
+
+        CachedUidGenerator cachedUidGenerator;
+        if (baiduidProperties.getShards() > 1) {
+            ShardedCachedUidGenerator shardedUidGenerator = new ShardedCachedUidGenerator();
+            shardedUidGenerator.setShards(baiduidProperties.getShards());
+            cachedUidGenerator = shardedUidGenerator;
+        } else {
+            cachedUidGenerator = new CachedUidGenerator();
+        }
         cachedUidGenerator.setTimeBits(baiduidProperties.getTimeBits());
         cachedUidGenerator.setWorkerBits(baiduidProperties.getWorkerBits());
         cachedUidGenerator.setSeqBits(baiduidProperties.getSeqBits());
         cachedUidGenerator.setEpochStr(baiduidProperties.getEpochStr());
+        cachedUidGenerator.setTickMillis(baiduidProperties.getTickMillis());
+        cachedUidGenerator.setTimeSource(uidTimeSource);
+        cachedUidGenerator.setPaddingExecutor(uidPaddingExecutors.getExecutor());
+        cachedUidGenerator.setPaddingSchedule(uidPaddingExecutors.getSchedule());
         cachedUidGenerator.setBoostPower(baiduidProperties.getBoostPower());
         Long scheduleInterval = baiduidProperties.getScheduleInterval();
         if (scheduleInterval != null && scheduleInterval > 0) {
             cachedUidGenerator.setScheduleInterval(scheduleInterval);
         }
         cachedUidGenerator.setPaddingFactor(baiduidProperties.getPaddingFactor());
+        cachedUidGenerator.setBufferType(baiduidProperties.getBufferType());
+        cachedUidGenerator.setLeaseSize(baiduidProperties.getLeaseSize());
+        cachedUidGenerator.setWaitStrategy(baiduidProperties.getWaitStrategy());
+        cachedUidGenerator.setWaitTimeout(baiduidProperties.getWaitTimeout());
+        if (baiduidProperties.getMinBoostPower() != null) {
+            cachedUidGenerator.setMinBoostPower(baiduidProperties.getMinBoostPower());
+        }
+        if (baiduidProperties.getMaxBoostPower() != null) {
+            cachedUidGenerator.setMaxBoostPower(baiduidProperties.getMaxBoostPower());
+        }
+        cachedUidGenerator.setResizeInterval(baiduidProperties.getResizeInterval());
+        if (baiduidProperties.getPaddingHeadroom() != null) {
+            cachedUidGenerator.setPaddingHeadroom(baiduidProperties.getPaddingHeadroom());
+        }
+        cachedUidGenerator.setPaddingParallelism(baiduidProperties.getPaddingParallelism());
+        if (baiduidProperties.getMaxLeadSeconds() != null) {
+            cachedUidGenerator.setMaxLeadSeconds(baiduidProperties.getMaxLeadSeconds());
+        }
         cachedUidGenerator.setWorkerIdAssigner(workerIdAssigner);
         cachedUidGenerator.setRejectedPutBufferHandler(rejectedPutBufferHandler);
         cachedUidGenerator.setRejectedTakeBufferHandler(rejectedTakeBufferHandler);
+        if (ringBufferListener != null) {
+            cachedUidGenerator.setRingBufferListener(ringBufferListener);
+        }
         return cachedUidGenerator;
     }
 
+    private UidGenerator lockFreeUidGenerator(TimeSource timeSource) {
+        LockFreeUidGenerator lockFreeUidGenerator = new LockFreeUidGenerator();
+        lockFreeUidGenerator.setTimeBits(baiduidProperties.getTimeBits());
+        lockFreeUidGenerator.setWorkerBits(baiduidProperties.getWorkerBits());
+        lockFreeUidGenerator.setSeqBits(baiduidProperties.getSeqBits());
+        lockFreeUidGenerator.setEpochStr(baiduidProperties.getEpochStr());
+        lockFreeUidGenerator.setTickMillis(baiduidProperties.getTickMillis());
+        lockFreeUidGenerator.setTimeSource(timeSource);
+        lockFreeUidGenerator.setMaxBorrowSeconds(baiduidProperties.getMaxBorrowSeconds());
+        lockFreeUidGenerator.setWorkerIdAssigner(workerIdAssigner);
+        return lockFreeUidGenerator;
+    }
+
     @Bean
     public ReusableWorkerIdAop reusableWorkerIdAop() {
         return new ReusableWorkerIdAop(baiduidProperties.isReusable());
     }
 
+    @ConditionalOnClass(Flux.class)
+    static class ReactiveUidGeneratorAutoConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        public ReactiveUidGenerator reactiveUidGenerator(UidGenerator uidGenerator) {
+            return new ReactiveUidGenerator(uidGenerator);
+        }
+    }
+
+    /**
+     * 引入micrometer-core时注册UidGenerator的指标, 如baiduid.lead: 已填充的时间领先当前时钟的毫秒数
+     */
+    @ConditionalOnClass(MeterBinder.class)
+    static class UidGeneratorMetricsAutoConfiguration {
+        @Bean
+        @ConditionalOnMissingBean
+        public UidGeneratorMetrics uidGeneratorMetrics(UidGenerator uidGenerator) {
+            return new UidGeneratorMetrics(uidGenerator);
+        }
+    }
+
     @ConditionalOnClass({SqlSessionFactory.class, SqlSessionFactoryBean.class})
     static class MybatisDisposableWorkerIdAssignerAutoConfiguration {
         @Bean
@@ -1,6 +1,9 @@
 package com.dekux.uid.config;
 
+import com.dekux.uid.buffer.BufferType;
 import com.dekux.uid.buffer.RingBuffer;
+import com.dekux.uid.buffer.WaitStrategyType;
+import com.dekux.uid.clock.TimeSourceType;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
 /**
@@ -23,7 +26,7 @@ public class BaiduidProperties {
     private boolean reusable = true;
 
     /**
-     * 时间比特位,单位：秒，最多可支持约8.7年
+     * 时间比特位,单位：秒(或tickMillis指定的时间单位)，以秒为单位时最多可支持约8.7年
      */
     private int timeBits = 28;
 
@@ -43,6 +46,39 @@ public class BaiduidProperties {
      */
     private String epochStr = "2023-02-23";
 
+    /**
+     * 时间比特位的时间单位, 单位:毫秒, 默认为1000即秒, 可选 1, 10, 100, 1000
+     * 更细的时间单位下每个单位内的突发量更小, 可以减少序列号比特位并将其让给机器id比特位,
+     * 且序列号耗尽时等待下一个时间单位的时间更短. 注意时间比特位可支持的年限会按比例缩短,
+     * 例如单位为10毫秒时, 时间比特位需要在28位的基础上增加约7位才能支持相同的年限. 其他取值或时间比特位在该单位下
+     * 已无法覆盖当前时间时, 启动时将直接失败
+     */
+    private long tickMillis = 1000L;
+
+    /**
+     * 当前时间的来源, 默认为SYSTEM
+     * SYSTEM: 每次调用System.currentTimeMillis()读取系统时钟
+     * CACHED: 由后台线程每毫秒缓存一次系统时钟, 生成UID时仅读取缓存的时间, 所有生成器及填充线程共用同一个时间视图
+     * MONOTONIC: 启动时锚定系统时钟, 之后按System.nanoTime()推进, 系统时钟被NTP回拨时不会回退, 也不会拒绝生成UID;
+     * 系统时钟领先时每秒最多向前校正100毫秒. 注意回拨期间领先系统时钟的时间在重启后会丢失, 复用workerId时重启耗时需大于回拨的时间
+     * 也可以注册自定义的TimeSource Bean来替换
+     */
+    private TimeSourceType timeSource = TimeSourceType.SYSTEM;
+
+    /**
+     * 是否使用带缓存的CachedUidGenerator, 默认为true
+     * 为false时将使用不带缓存的LockFreeUidGenerator, 以CAS代替锁生成UID, 多核及虚拟线程下不会在同一把锁上排队,
+     * 此时RingBuffer相关的配置均不生效
+     */
+    private boolean cached = true;
+
+    /**
+     * 不带缓存的实现中, 当前秒的序列号耗尽时最多可向未来借用的秒数, 单位:秒, 按tickMillis换算为时间单位, 默认为0即不借用
+     * 不借用时将挂起线程直到下一秒, 而不是自旋等待. 与CachedUidGenerator相同, 借用后若服务在借用的时间内重启
+     * 并复用了同一个workerId, 可能生成重复的UID
+     */
+    private long maxBorrowSeconds = 0L;
+
     /**
      * RingBuffer size扩容参数, 可提高UID生成的吞吐量.
      * 默认:3， 原bufferSize=8192, 扩容后bufferSize= 8192 << 3 = 65536
@@ -62,6 +98,86 @@ public class BaiduidProperties {
      */
     private int paddingFactor = RingBuffer.DEFAULT_PADDING_PERCENT;
 
+    /**
+     * 缓存UID的RingBuffer类型, 默认为RING
+     * RING: 每个槽位对应一个标记对象, 通过CAS移动消费游标
+     * SEQUENCE: 槽位状态以序号戳记录在连续的long数组中, 没有逐槽位的标记对象, 内存占用更小;
+     * 与RING相同通过不超过tail的CAS领取槽位, 多核下的游标竞争与RING一致
+     * SEGMENT: 不逐个存储UID, 仅以(起始UID, 数量)描述每一段连续的UID, 通过fetch-and-add领取, 内存占用与bufferSize无关,
+     * 每次填充一秒的UID只需常数时间
+     * DOUBLE: 两个连续的long数组交替使用, 消费者通过不超过tail的CAS读取当前数组, 填充线程在后台填充备用数组, 当前数组耗尽时切换,
+     * 槽位没有任何标记
+     */
+    private BufferType bufferType = BufferType.RING;
+
+    /**
+     * 每个线程一次从RingBuffer中租用的UID数量, 建议取值64~1024, 默认为0即不开启
+     * 开启后线程优先从本地租用的UID中获取, 用完后才会访问共享的消费游标, 不同线程获取的UID不再按调用顺序递增.
+     * 线程结束时未使用的UID会直接丢弃, 不会产生重复
+     */
+    private int leaseSize = 0;
+
+    /**
+     * RingBuffer分片数量, 必须为2的幂且不大于每秒的最大序列数, 默认为1即不分片
+     * 大于1时将使用ShardedCachedUidGenerator, 每秒的序列号被切分为互不重叠的区间分别填充到各分片,
+     * 线程按哈希选择分片, 分片为空时从相邻分片获取. 每个分片的大小为 (每秒最大序列数 / shards) << boostPower
+     */
+    private int shards = 1;
+
+    /**
+     * RingBuffer为空时等待填充的策略, 默认为NONE即不等待, 直接执行拒绝策略
+     * BUSY_SPIN: 忙等, 延迟最低, 等待期间占满CPU
+     * YIELD: 让出CPU后重试, 延迟较低
+     * PARK: 指数退避挂起线程后重试, 兼顾延迟与CPU
+     * BLOCKING: 阻塞至填充线程发布新的UID, 等待期间不占用CPU
+     */
+    private WaitStrategyType waitStrategy = WaitStrategyType.NONE;
+
+    /**
+     * RingBuffer为空时最长的等待时间, 单位:毫秒, 默认为10. 超时仍无可用UID时执行拒绝策略
+     */
+    private long waitTimeout = 10L;
+
+    /**
+     * 自适应RingBuffer大小时boostPower的最小值与最大值, 默认均不指定即RingBuffer大小固定
+     * 指定且最小值小于最大值时, 将按每秒的消费速率峰值在范围内扩容或缩容, 未消费的UID会迁移到新的RingBuffer中
+     * 举例: minBoostPower=2, maxBoostPower=5, 则bufferSize在 8192 << 2 至 8192 << 5 之间调整
+     */
+    private Integer minBoostPower;
+    private Integer maxBoostPower;
+
+    /**
+     * 自适应RingBuffer大小的检查间隔, 单位:秒, 默认为60
+     */
+    private long resizeInterval = 60L;
+
+    /**
+     * 按预测的消费速率提前填充RingBuffer时保留的余量, 单位:毫秒, 默认不指定即仅按paddingFactor填充
+     * 指定后将统计消费速率与填充吞吐量的指数加权移动平均值, 将填充阈值提高到
+     * 消费速率 * (余量 + bufferSize / 填充吞吐量), 且不低于paddingFactor对应的阈值
+     */
+    private Long paddingHeadroom;
+
+    /**
+     * 填充RingBuffer的线程池是否使用虚拟线程, 默认为false. 仅在Java 21及以上版本生效, 低版本将回退为平台线程
+     * 填充线程池与Schedule线程以SharedPaddingExecutors类型的Bean注册, 由所有生成器共用,
+     * 也可以自行注册SharedPaddingExecutors类型的Bean来替换
+     */
+    private boolean virtualThreads = false;
+
+    /**
+     * 并行填充RingBuffer的最大线程数, 默认为1即单线程逐秒填充. 大于1时由多个填充线程各自写入不相交的槽位区间,
+     * 全部写完后一次性发布, 大量消费后的重新填充耗时随线程数下降. 仅对RING/SEQUENCE/DOUBLE类型生效, 不宜大于填充线程池的线程数
+     */
+    private int paddingParallelism = 1;
+
+    /**
+     * 带缓存时已填充的时间最多领先当前时钟的秒数, 按tickMillis换算为时间单位, 默认不指定即不限制
+     * 持续过载时填充会不断向未来借用时间, 超过该值后暂停填充, 并在下一个时间单位重试, RingBuffer耗尽后消费者按waitStrategy等待时钟追上,
+     * 所以需要同时配置waitStrategy, 且waitTimeout不小于tickMillis. 填满的RingBuffer本身就领先2^boostPower个时间单位左右, 不宜小于该值
+     */
+    private Long maxLeadSeconds;
+
     public int getTimeBits() {
         return timeBits;
     }
@@ -125,4 +241,132 @@ public class BaiduidProperties {
     public void setScheduleInterval(Long scheduleInterval) {
         this.scheduleInterval = scheduleInterval;
     }
+
+    public BufferType getBufferType() {
+        return bufferType;
+    }
+
+    public void setBufferType(BufferType bufferType) {
+        this.bufferType = bufferType;
+    }
+
+    public int getLeaseSize() {
+        return leaseSize;
+    }
+
+    public void setLeaseSize(int leaseSize) {
+        this.leaseSize = leaseSize;
+    }
+
+    public int getShards() {
+        return shards;
+    }
+
+    public void setShards(int shards) {
+        this.shards = shards;
+    }
+
+    public WaitStrategyType getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    public void setWaitStrategy(WaitStrategyType waitStrategy) {
+        this.waitStrategy = waitStrategy;
+    }
+
+    public long getWaitTimeout() {
+        return waitTimeout;
+    }
+
+    public void setWaitTimeout(long waitTimeout) {
+        this.waitTimeout = waitTimeout;
+    }
+
+    public Integer getMinBoostPower() {
+        return minBoostPower;
+    }
+
+    public void setMinBoostPower(Integer minBoostPower) {
+        this.minBoostPower = minBoostPower;
+    }
+
+    public Integer getMaxBoostPower() {
+        return maxBoostPower;
+    }
+
+    public void setMaxBoostPower(Integer maxBoostPower) {
+        this.maxBoostPower = maxBoostPower;
+    }
+
+    public long getResizeInterval() {
+        return resizeInterval;
+    }
+
+    public void setResizeInterval(long resizeInterval) {
+        this.resizeInterval = resizeInterval;
+    }
+
+    public Long getPaddingHeadroom() {
+        return paddingHeadroom;
+    }
+
+    public void setPaddingHeadroom(Long paddingHeadroom) {
+        this.paddingHeadroom = paddingHeadroom;
+    }
+
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    public void setTickMillis(long tickMillis) {
+        this.tickMillis = tickMillis;
+    }
+
+    public long getMaxBorrowSeconds() {
+        return maxBorrowSeconds;
+    }
+
+    public void setMaxBorrowSeconds(long maxBorrowSeconds) {
+        this.maxBorrowSeconds = maxBorrowSeconds;
+    }
+
+    public TimeSourceType getTimeSource() {
+        return timeSource;
+    }
+
+    public void setTimeSource(TimeSourceType timeSource) {
+        this.timeSource = timeSource;
+    }
+
+    public boolean isVirtualThreads() {
+        return virtualThreads;
+    }
+
+    public void setVirtualThreads(boolean virtualThreads) {
+        this.virtualThreads = virtualThreads;
+    }
+
+    public boolean isCached() {
+        return cached;
+    }
+
+    public void setCached(boolean cached) {
+        this.cached = cached;
+    }
+
+    public int getPaddingParallelism() {
+        return paddingParallelism;
+    }
+
+    public void setPaddingParallelism(int paddingParallelism) {
+        this.paddingParallelism = paddingParallelism;
+    }
+
+    public Long getMaxLeadSeconds() {
+        return maxLeadSeconds;
+    }
+
+    public void setMaxLeadSeconds(Long maxLeadSeconds) {
+        this.maxLeadSeconds = maxLeadSeconds;
+    }
 }
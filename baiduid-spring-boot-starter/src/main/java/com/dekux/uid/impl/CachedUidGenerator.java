@@ -18,17 +18,29 @@ package com.dekux.uid.impl;
 import com.dekux.uid.BitsAllocator;
 import com.dekux.uid.UidGenerator;
 import com.dekux.uid.buffer.BufferPaddingExecutor;
+import com.dekux.uid.buffer.BufferType;
+import com.dekux.uid.buffer.LoggingRingBufferListener;
+import com.dekux.uid.buffer.PredictivePaddingPolicy;
 import com.dekux.uid.buffer.RejectedPutBufferHandler;
 import com.dekux.uid.buffer.RejectedTakeBufferHandler;
 import com.dekux.uid.buffer.RingBuffer;
+import com.dekux.uid.buffer.RingBufferListener;
+import com.dekux.uid.buffer.UidBuffer;
+import com.dekux.uid.buffer.UidRange;
+import com.dekux.uid.buffer.WaitStrategyType;
 import com.dekux.uid.exception.UidGenerateException;
+import com.dekux.uid.utils.NamingThreadFactory;
+import com.dekux.uid.utils.PaddingExecutors;
+import com.dekux.uid.utils.SharedPaddingExecutors;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.DisposableBean;
 import org.springframework.util.Assert;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Represents a cached implementation of {@link UidGenerator} extends
@@ -41,7 +53,33 @@ import java.util.List;
  * <li><b>paddingFactor:</b> Represents a percent value of (0 - 100). When the count of rest available UIDs reach the
  * threshold, it will trigger padding buffer. Default as{@link RingBuffer#DEFAULT_PADDING_PERCENT}
  * Sample: paddingFactor=20, bufferSize=1000 -> threshold=1000 * 20 /100, padding buffer will be triggered when tail-cursor<threshold
+ * <li><b>bufferType:</b> Type of the buffer, see {@link BufferType}. Default as {@link BufferType#RING}
+ * <li><b>leaseSize:</b> Count of UIDs each calling thread leases from the buffer at once, then {@link #getUID()} is served
+ * from a thread-local chunk and only touches the shared cursor when the chunk runs out. Note that UIDs of different
+ * threads are not increasing in the order of calling any more. Unused leased UIDs are just dropped when the thread
+ * dies, which never causes duplicates. Default as 0, means that leasing is disabled
+ * <li><b>waitStrategy:</b> Strategy to wait for the padding when the buffer is empty, see {@link WaitStrategyType}.
+ * Default as {@link WaitStrategyType#NONE}, means that the rejectedTakeBufferHandler is applied at once
+ * <li><b>waitTimeout:</b> Max time to wait for the padding when the buffer is empty, Unit as millisecond.
+ * Default as {@value #DEFAULT_WAIT_TIMEOUT}
+ * <li><b>minBoostPower & maxBoostPower:</b> Range of the boostPower for adaptive buffer sizing. When the range is
+ * not empty, the peak take rate per second is sampled, the buffer grows by a power of 2 if the peak exceeds the buffer
+ * size, and shrinks by a power of 2 if the peak is less than a quarter of the buffer size. The available UIDs are
+ * migrated to the resized buffer. Default as null, means that the buffer size is fixed by boostPower
+ * <li><b>resizeInterval:</b> Interval to check resizing the buffer, Unit as second. Default as
+ * {@value #DEFAULT_RESIZE_INTERVAL}
+ * <li><b>paddingHeadroom:</b> Headroom of demand to keep in the buffer, Unit as millisecond. When specified, the padding
+ * threshold is raised by the EWMA of the take rate and the padding throughput, see {@link PredictivePaddingPolicy}.
+ * The threshold of paddingFactor is kept as the min one. Default as null, means that only paddingFactor is used
+ * <li><b>maxLeadSeconds:</b> Max seconds of the last second padded ahead of the clock, which is converted to tick unit.
+ * The padding pauses beyond it & retries at the next tick, the consumers wait by the waitStrategy once the buffer is
+ * drained. Default as null, means that the lead is not limited
  * <li><b>scheduleInterval:</b> Padding buffer in a schedule, specify padding buffer interval, Unit as second
+ * <li><b>paddingExecutor & paddingSchedule:</b> Executors for padding shared with other generators, see
+ * {@link PaddingExecutors} & {@link SharedPaddingExecutors}. They are managed by the caller and not shut down by {@link #destroy()}. Default as null,
+ * means that the generator creates its own executors
+ * <li><b>ringBufferListener:</b> Listener of the padding & rejection events, see {@link RingBufferListener}.
+ * Default as {@link LoggingRingBufferListener}, which logs each kind of event at most once a second
  * <li><b>rejectedPutBufferHandler:</b> Policy for rejected put buffer. Default as discard put request, just do logging
  * <li><b>rejectedTakeBufferHandler:</b> Policy for rejected take buffer. Default as throwing up an exception
  *
@@ -50,23 +88,57 @@ import java.util.List;
 public class CachedUidGenerator extends DefaultUidGenerator implements DisposableBean {
     private static final Logger LOGGER = LoggerFactory.getLogger(CachedUidGenerator.class);
     private static final int DEFAULT_BOOST_POWER = 3;
+    private static final long DEFAULT_WAIT_TIMEOUT = 10L;
+    private static final long DEFAULT_RESIZE_INTERVAL = 60L;
+    private static final String RESIZE_SCHEDULE_NAME = "RingBuffer-Resize-Schedule";
 
     /**
      * Spring properties
      */
-    private int boostPower = DEFAULT_BOOST_POWER;
-    private int paddingFactor = RingBuffer.DEFAULT_PADDING_PERCENT;
-    private Long scheduleInterval;
+    protected int boostPower = DEFAULT_BOOST_POWER;
+    protected int paddingFactor = RingBuffer.DEFAULT_PADDING_PERCENT;
+    protected Long scheduleInterval;
+    protected BufferType bufferType = BufferType.RING;
+    protected int leaseSize;
+    protected WaitStrategyType waitStrategy = WaitStrategyType.NONE;
+    protected long waitTimeout = DEFAULT_WAIT_TIMEOUT;
+    protected Integer minBoostPower;
+    protected Integer maxBoostPower;
+    protected long resizeInterval = DEFAULT_RESIZE_INTERVAL;
+    protected Long paddingHeadroom;
+    protected int paddingParallelism = 1;
+    protected Long maxLeadSeconds;
+    protected ExecutorService paddingExecutor;
+    protected ScheduledExecutorService paddingSchedule;
 
-    private RejectedPutBufferHandler rejectedPutBufferHandler;
-    private RejectedTakeBufferHandler rejectedTakeBufferHandler;
+    protected RejectedPutBufferHandler rejectedPutBufferHandler;
+    protected RejectedTakeBufferHandler rejectedTakeBufferHandler;
+    protected RingBufferListener ringBufferListener = new LoggingRingBufferListener();
 
     /**
      * RingBuffer
      */
-    private RingBuffer ringBuffer;
+    private volatile UidBuffer ringBuffer;
     private BufferPaddingExecutor bufferPaddingExecutor;
 
+    /** Whether the buffer is being switched by resizing, the consumers wait for the new one if the old one is empty */
+    private volatile boolean resizing;
+
+    /**
+     * Adaptive sizing, the sampling states are only accessed by the resize schedule thread
+     */
+    private ScheduledExecutorService resizeSchedule;
+    private int currentBoostPower;
+    private UidBuffer sampledBuffer;
+    private long sampledCursor;
+    private long peakRate;
+    private long sampledSeconds;
+
+    /**
+     * Thread-local leased UIDs, only available when leaseSize is positive
+     */
+    private final ThreadLocal<UidLease> leases = ThreadLocal.withInitial(() -> new UidLease(leaseSize));
+
     @Override
     public void afterPropertiesSet() throws Exception {
         // initialize workerId & bitsAllocator
@@ -80,13 +152,51 @@ public class CachedUidGenerator extends DefaultUidGenerator implements Disposabl
     @Override
     public long getUID() {
         try {
-            return ringBuffer.take();
+            if (leaseSize > 0) {
+                return leases.get().next();
+            }
+            return takeUid();
         } catch (Exception e) {
             LOGGER.error("Generate unique id exception. ", e);
             throw new UidGenerateException(e);
         }
     }
 
+    @Override
+    public void getUIDs(long[] dst, int off, int len) {
+        try {
+            int taken = 0;
+            while (taken < len) {
+                int count = takeUids(dst, off + taken, len - taken);
+                if (count == 0) {
+                    throw new UidGenerateException("Rejected take buffer. " + describeBuffer());
+                }
+                taken += count;
+            }
+        } catch (UidGenerateException e) {
+            LOGGER.error("Generate unique ids exception. ", e);
+            throw e;
+        } catch (Exception e) {
+            LOGGER.error("Generate unique ids exception. ", e);
+            throw new UidGenerateException(e);
+        }
+    }
+
+    @Override
+    public int tryGetUIDs(long[] dst, int off, int len) {
+        try {
+            return tryTakeUids(dst, off, len);
+        } catch (Exception e) {
+            LOGGER.error("Generate unique ids exception. ", e);
+            throw new UidGenerateException(e);
+        }
+    }
+
+    @Override
+    public void whenAvailable(Runnable callback) {
+        bufferPaddingExecutor.whenAvailable(callback);
+    }
+
     @Override
     public String parseUID(long uid) {
         return super.parseUID(uid);
@@ -94,61 +204,272 @@ public class CachedUidGenerator extends DefaultUidGenerator implements Disposabl
 
     @Override
     public void destroy() throws Exception {
+        if (resizeSchedule != null) {
+            resizeSchedule.shutdownNow();
+        }
         bufferPaddingExecutor.shutdown();
     }
 
     /**
-     * Get the UIDs in the same specified second under the max sequence
+     * Get the lead of the last second padded ahead of the clock, counted in tick unit
      *
-     * @param currentSecond
-     * @return UID list, size of {@link BitsAllocator#getMaxSequence()} + 1
+     * @return lead ticks
+     */
+    public long getLead() {
+        return bufferPaddingExecutor.getLead();
+    }
+
+    /**
+     * Get the lead of the last second padded ahead of the clock in milliseconds, see {@link #getLead()}
+     *
+     * @return lead milliseconds
      */
-    protected List<Long> nextIdsForOneSecond(long currentSecond) {
-        // Initialize result list size of (max sequence + 1)
-        int listSize = (int) bitsAllocator.getMaxSequence() + 1;
-        List<Long> uidList = new ArrayList<>(listSize);
+    public long getLeadMillis() {
+        return getLead() * tickMillis;
+    }
 
-        // Allocate the first sequence of the second, the others can be calculated with the offset
-        long firstSeqUid = bitsAllocator.allocate(currentSecond - epochSeconds, workerId, 0L);
-        for (int offset = 0; offset < listSize; offset++) {
-            uidList.add(firstSeqUid + offset);
+    /**
+     * Take an UID of the buffer, the {@link RejectedTakeBufferHandler} is applied if the buffer is empty
+     *
+     * @return UID
+     */
+    protected long takeUid() {
+        UidBuffer buffer = ringBuffer;
+        long uid = buffer.tryTake();
+
+        // retry on the new buffer if the buffer was switched by resizing, or wait for the switch in progress
+        while (uid == UidBuffer.EMPTY && (buffer != ringBuffer || resizing)) {
+            if (buffer == ringBuffer) {
+                Thread.yield();
+            }
+            buffer = ringBuffer;
+            uid = buffer.tryTake();
         }
+        return uid != UidBuffer.EMPTY ? uid : buffer.take();
+    }
 
-        return uidList;
+    /**
+     * Take a batch of UIDs of the buffer, the {@link RejectedTakeBufferHandler} is applied if the buffer is empty
+     *
+     * @param dst destination array
+     * @param off offset of the first element to fill
+     * @param len max count of UIDs to take
+     * @return count of UIDs taken, 0 means that the buffer is empty
+     */
+    protected int takeUids(long[] dst, int off, int len) {
+        int count = tryTakeUids(dst, off, len);
+        return count > 0 ? count : ringBuffer.take(dst, off, len);
+    }
+
+    /**
+     * Try to take a batch of UIDs of the buffer, the {@link RejectedTakeBufferHandler} is never applied
+     *
+     * @param dst destination array
+     * @param off offset of the first element to fill
+     * @param len max count of UIDs to take
+     * @return count of UIDs taken, 0 means that the buffer is empty
+     */
+    protected int tryTakeUids(long[] dst, int off, int len) {
+        UidBuffer buffer = ringBuffer;
+        int count = buffer.tryTake(dst, off, len);
+
+        // retry on the new buffer if the buffer was switched by resizing, or wait for the switch in progress
+        while (count == 0 && (buffer != ringBuffer || resizing)) {
+            if (buffer == ringBuffer) {
+                Thread.yield();
+            }
+            buffer = ringBuffer;
+            count = buffer.tryTake(dst, off, len);
+        }
+        return count;
+    }
+
+    /**
+     * Convert the max lead seconds to tick unit, at least one tick
+     */
+    protected long getMaxLead() {
+        return Math.max(1L, TimeUnit.SECONDS.toMillis(maxLeadSeconds) / tickMillis);
+    }
+
+    /**
+     * Describe the buffer for the exception messages
+     */
+    protected String describeBuffer() {
+        return String.valueOf(ringBuffer);
+    }
+
+    /**
+     * Lease a chunk of UIDs from the buffer, the shared cursor is moved only once for the chunk
+     *
+     * @param uids destination array
+     * @return count of UIDs leased
+     */
+    private int lease(long[] uids) {
+        int count = takeUids(uids, 0, uids.length);
+        if (count == 0) {
+            throw new UidGenerateException("Rejected take buffer. " + describeBuffer());
+        }
+        return count;
+    }
+
+    /**
+     * Get the UIDs in the same specified second under the max sequence, the second is counted in tick unit
+     *
+     * @param currentSecond
+     * @param range set with the UIDs, count of {@link BitsAllocator#getMaxSequence()} + 1
+     */
+    protected void nextIdsForOneSecond(long currentSecond, UidRange range) {
+        nextIdsForOneSecond(currentSecond, 0, (int) bitsAllocator.getMaxSequence() + 1, range);
+    }
+
+    /**
+     * Get the UIDs of a sequence sub-range in the same specified second
+     *
+     * @param currentSecond
+     * @param firstSequence the first sequence of the sub-range
+     * @param count count of sequences in the sub-range
+     * @param range set with the UIDs, count of <code>count</code>
+     */
+    protected void nextIdsForOneSecond(long currentSecond, int firstSequence, int count, UidRange range) {
+        // Allocate the first sequence of the sub-range, the others can be calculated with the offset
+        long firstSeqUid = bitsAllocator.allocate(currentSecond - epochSeconds, workerId, firstSequence);
+        range.set(firstSeqUid, count);
     }
 
     /**
      * Initialize RingBuffer & RingBufferPaddingExecutor
      */
-    private void initRingBuffer() {
-        // initialize RingBuffer
-        int bufferSize = ((int) bitsAllocator.getMaxSequence() + 1) << boostPower;
-        this.ringBuffer = new RingBuffer(bufferSize, paddingFactor);
-        LOGGER.info("Initialized ring buffer size:{}, paddingFactor:{}", bufferSize, paddingFactor);
+    protected void initRingBuffer() {
+        // initialize RingBuffer, the boost power is kept in the range of adaptive sizing
+        int minPower = minBoostPower != null ? minBoostPower : boostPower;
+        int maxPower = maxBoostPower != null ? maxBoostPower : boostPower;
+        Assert.isTrue(minPower <= maxPower, "Min boost power must not be greater than the max boost power!");
+        this.currentBoostPower = Math.max(minPower, Math.min(boostPower, maxPower));
+
+        int bufferSize = ((int) bitsAllocator.getMaxSequence() + 1) << currentBoostPower;
+        Assert.isTrue(leaseSize < ((int) bitsAllocator.getMaxSequence() + 1) << minPower,
+                "Lease size must be less than the buffer size!");
+        this.ringBuffer = bufferType.create(bufferSize, paddingFactor);
+        LOGGER.info("Initialized ring buffer type:{}, size:{}, paddingFactor:{}", bufferType, bufferSize, paddingFactor);
 
         // initialize RingBufferPaddingExecutor
         boolean usingSchedule = (scheduleInterval != null);
-        this.bufferPaddingExecutor = new BufferPaddingExecutor(ringBuffer, this::nextIdsForOneSecond, usingSchedule);
+        if (paddingExecutor != null) {
+            Assert.isTrue(!usingSchedule || paddingSchedule != null, "Padding schedule must be set to use schedule!");
+            this.bufferPaddingExecutor = new BufferPaddingExecutor(ringBuffer, this::nextIdsForOneSecond,
+                    paddingExecutor, usingSchedule ? paddingSchedule : null);
+        } else {
+            this.bufferPaddingExecutor = new BufferPaddingExecutor(ringBuffer, this::nextIdsForOneSecond, usingSchedule);
+        }
+        bufferPaddingExecutor.setTimeSource(timeSource, tickMillis);
         if (usingSchedule) {
             bufferPaddingExecutor.setScheduleInterval(scheduleInterval);
         }
+        if (paddingHeadroom != null) {
+            bufferPaddingExecutor.setPaddingPolicy(new PredictivePaddingPolicy(paddingHeadroom));
+        }
+        bufferPaddingExecutor.setPaddingParallelism(paddingParallelism);
+        if (maxLeadSeconds != null) {
+            bufferPaddingExecutor.setMaxLead(getMaxLead());
+        }
 
         LOGGER.info("Initialized BufferPaddingExecutor. Using schdule:{}, interval:{}", usingSchedule, scheduleInterval);
 
-        // set rejected put/take handle policy
-        this.ringBuffer.setBufferPaddingExecutor(bufferPaddingExecutor);
-        if (rejectedPutBufferHandler != null) {
-            this.ringBuffer.setRejectedPutHandler(rejectedPutBufferHandler);
-        }
-        if (rejectedTakeBufferHandler != null) {
-            this.ringBuffer.setRejectedTakeHandler(rejectedTakeBufferHandler);
-        }
+        // set rejected put/take handle policy & wait strategy
+        this.configureBuffer(ringBuffer, bufferPaddingExecutor);
 
         // fill in all slots of the RingBuffer
         bufferPaddingExecutor.paddingBuffer();
 
         // start buffer padding threads
         bufferPaddingExecutor.start();
+
+        // start sampling the take rate for adaptive sizing
+        if (minPower < maxPower) {
+            this.sampledBuffer = ringBuffer;
+            this.sampledCursor = ringBuffer.getCursor();
+            this.resizeSchedule = Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(RESIZE_SCHEDULE_NAME, true));
+            resizeSchedule.scheduleWithFixedDelay(() -> sampleTakeRate(minPower, maxPower), 1L, 1L, TimeUnit.SECONDS);
+            LOGGER.info("Initialized adaptive sizing. boostPower:[{}, {}], interval:{}", minPower, maxPower, resizeInterval);
+        }
+    }
+
+    /**
+     * Sample the count of UIDs taken in the last second, then resize the buffer by the peak rate at each interval
+     */
+    private void sampleTakeRate(int minPower, int maxPower) {
+        try {
+            // the cursor restarts after the buffer is switched, skip the sample
+            UidBuffer buffer = ringBuffer;
+            long cursor = buffer.getCursor();
+            if (buffer == sampledBuffer) {
+                peakRate = Math.max(peakRate, cursor - sampledCursor);
+            }
+            sampledBuffer = buffer;
+            sampledCursor = cursor;
+
+            if (++sampledSeconds < resizeInterval) {
+                return;
+            }
+
+            // grow if the buffer is drained more than once a second, shrink if it lasts more than four seconds
+            int bufferSize = buffer.getBufferSize();
+            if (peakRate > bufferSize && currentBoostPower < maxPower) {
+                resizeRingBuffer(currentBoostPower + 1);
+            } else if (peakRate < bufferSize >> 2 && currentBoostPower > minPower) {
+                resizeRingBuffer(currentBoostPower - 1);
+            }
+            peakRate = 0;
+            sampledSeconds = 0;
+        } catch (Exception e) {
+            LOGGER.error("Resize ring buffer exception. ", e);
+        }
+    }
+
+    /**
+     * Resize the buffer with the boost power. The available UIDs of the old buffer are migrated to the new one, which
+     * is published after the switch, so the consumers never find the new buffer empty. The consumers finding the old
+     * buffer drained by the migration wait for the switch, and the ones still holding it take from the new one once
+     * it is retired, see {@link UidBuffer#retire(UidBuffer)}
+     *
+     * @param newBoostPower
+     */
+    protected void resizeRingBuffer(int newBoostPower) {
+        int bufferSize = ((int) bitsAllocator.getMaxSequence() + 1) << newBoostPower;
+        UidBuffer buffer = bufferType.create(bufferSize, paddingFactor);
+        this.configureBuffer(buffer, bufferPaddingExecutor);
+
+        this.resizing = true;
+        try {
+            bufferPaddingExecutor.switchBuffer(buffer);
+            this.ringBuffer = buffer;
+        } finally {
+            this.resizing = false;
+        }
+        this.currentBoostPower = newBoostPower;
+        LOGGER.info("Resized ring buffer with boostPower:{}, size:{}", newBoostPower, bufferSize);
+
+        // fill in all slots of the new buffer
+        bufferPaddingExecutor.paddingBuffer();
+    }
+
+    /**
+     * Set the padding executor, rejected put/take handle policy, wait strategy & listener of the buffer
+     *
+     * @param buffer
+     * @param executor
+     */
+    protected void configureBuffer(UidBuffer buffer, BufferPaddingExecutor executor) {
+        buffer.setBufferPaddingExecutor(executor);
+        buffer.setListener(ringBufferListener);
+        executor.setListener(ringBufferListener);
+        if (rejectedPutBufferHandler != null) {
+            buffer.setRejectedPutHandler(rejectedPutBufferHandler);
+        }
+        if (rejectedTakeBufferHandler != null) {
+            buffer.setRejectedTakeHandler(rejectedTakeBufferHandler);
+        }
+        buffer.setWaitStrategy(waitStrategy.create(), waitTimeout, TimeUnit.MILLISECONDS);
     }
 
     /**
@@ -164,6 +485,69 @@ public class CachedUidGenerator extends DefaultUidGenerator implements Disposabl
         this.paddingFactor = paddingFactor;
     }
 
+    public void setBufferType(BufferType bufferType) {
+        Assert.notNull(bufferType, "Buffer type must not be null!");
+        this.bufferType = bufferType;
+    }
+
+    public void setLeaseSize(int leaseSize) {
+        Assert.isTrue(leaseSize >= 0, "Lease size must not be negative!");
+        this.leaseSize = leaseSize;
+    }
+
+    public void setWaitStrategy(WaitStrategyType waitStrategy) {
+        Assert.notNull(waitStrategy, "Wait strategy must not be null!");
+        this.waitStrategy = waitStrategy;
+    }
+
+    public void setWaitTimeout(long waitTimeout) {
+        Assert.isTrue(waitTimeout >= 0, "Wait timeout must not be negative!");
+        this.waitTimeout = waitTimeout;
+    }
+
+    public void setMinBoostPower(int minBoostPower) {
+        Assert.isTrue(minBoostPower > 0, "Min boost power must be positive!");
+        this.minBoostPower = minBoostPower;
+    }
+
+    public void setMaxBoostPower(int maxBoostPower) {
+        Assert.isTrue(maxBoostPower > 0, "Max boost power must be positive!");
+        this.maxBoostPower = maxBoostPower;
+    }
+
+    public void setResizeInterval(long resizeInterval) {
+        Assert.isTrue(resizeInterval > 0, "Resize interval must positive!");
+        this.resizeInterval = resizeInterval;
+    }
+
+    public void setPaddingHeadroom(long paddingHeadroom) {
+        Assert.isTrue(paddingHeadroom > 0, "Padding headroom must positive!");
+        this.paddingHeadroom = paddingHeadroom;
+    }
+
+    public void setPaddingParallelism(int paddingParallelism) {
+        Assert.isTrue(paddingParallelism > 0, "Padding parallelism must positive!");
+        this.paddingParallelism = paddingParallelism;
+    }
+
+    public void setMaxLeadSeconds(long maxLeadSeconds) {
+        Assert.isTrue(maxLeadSeconds > 0, "Max lead seconds must positive!");
+        this.maxLeadSeconds = maxLeadSeconds;
+    }
+
+    public void setPaddingExecutor(ExecutorService paddingExecutor) {
+        this.paddingExecutor = paddingExecutor;
+    }
+
+    public void setPaddingSchedule(ScheduledExecutorService paddingSchedule) {
+        this.paddingSchedule = paddingSchedule;
+    }
+
+    public void setRingBufferListener(RingBufferListener ringBufferListener) {
+        Assert.notNull(ringBufferListener, "Ring buffer listener must not be null!");
+        this.ringBufferListener = ringBufferListener;
+    }
+
     public void setRejectedPutBufferHandler(RejectedPutBufferHandler rejectedPutBufferHandler) {
         this.rejectedPutBufferHandler = rejectedPutBufferHandler;
     }
@@ -177,4 +561,25 @@ public class CachedUidGenerator extends DefaultUidGenerator implements Disposabl
         this.scheduleInterval = scheduleInterval;
     }
 
+    /**
+     * Chunk of UIDs leased by a thread, which is only accessed by its owner thread
+     */
+    private final class UidLease {
+        private final long[] uids;
+        private int index;
+        private int limit;
+
+        private UidLease(int leaseSize) {
+            this.uids = new long[leaseSize];
+        }
+
+        private long next() {
+            if (index == limit) {
+                limit = lease(uids);
+                index = 0;
+            }
+            return uids[index++];
+        }
+    }
+
 }
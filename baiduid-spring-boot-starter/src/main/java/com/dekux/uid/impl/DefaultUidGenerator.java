@@ -17,6 +17,7 @@ package com.dekux.uid.impl;
 
 import com.dekux.uid.BitsAllocator;
 import com.dekux.uid.UidGenerator;
+import com.dekux.uid.clock.TimeSource;
 import com.dekux.uid.exception.UidGenerateException;
 import com.dekux.uid.utils.DateUtils;
 import com.dekux.uid.worker.WorkerIdAssigner;
@@ -24,10 +25,12 @@ import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.Assert;
 
 import javax.annotation.Resource;
 import java.util.Date;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
 /**
  * Represents an implementation of {@link UidGenerator}
@@ -52,7 +55,18 @@ import java.util.concurrent.TimeUnit;
  * <li>timeBits: default as 28
  * <li>workerBits: default as 22
  * <li>seqBits: default as 13
- * <li>epochStr: Epoch date string format 'yyyy-MM-dd'. Default as '2016-05-20'<p>
+ * <li>epochStr: Epoch date string format 'yyyy-MM-dd'. Default as '2016-05-20'
+ * <li>tickMillis: Unit of the delta seconds in milliseconds, one of 1, 10, 100 or 1000. Default as 1000. The
+ * timestamp bits must cover the current time at the tick, which is checked on initialization
+ * <li>maxBorrowSeconds: Max seconds to borrow from the future when the sequences of a second are exhausted,
+ *                       instead of waiting for the next second. Counted in real seconds & converted to ticks by
+ *                       the tickMillis. Default as 0, means that never borrow
+ * <li>timeSource: {@link TimeSource} of the current time, shared with the padding of the cached generators.
+ *                 Default as {@link TimeSource#SYSTEM}<p>
+ *
+ * A finer tick spreads the sequences of a second over more ticks, so fewer sequence bits are needed for the same
+ * burst, and the wait for the next tick is shorter when the sequences of a tick are exhausted. Note that the
+ * "seconds" of the fields & methods here are all counted in ticks, except the maxBorrowSeconds<p>
  *
  * <b>Note that:</b> The total bits must be 64 -1
  *
@@ -66,13 +80,24 @@ public class DefaultUidGenerator implements UidGenerator, InitializingBean {
     protected int workerBits = 22;
     protected int seqBits = 13;
 
-    /** Customer epoch, unit as second. For example 2016-05-20 (ms: 1463673600000)*/
+    /** Customer epoch, unit as tick. For example 2016-05-20 (ms: 1463673600000)*/
     protected String epochStr = "2016-05-20";
-    protected long epochSeconds = TimeUnit.MILLISECONDS.toSeconds(1463673600000L);
+    protected long epochMillis = 1463673600000L;
+    protected long epochSeconds = TimeUnit.MILLISECONDS.toSeconds(epochMillis);
+
+    /** Unit of the timestamp bits in milliseconds, default as one second */
+    protected long tickMillis = 1000L;
+
+    /** Max seconds ahead of the clock to borrow in real seconds, 0 means that wait for the next second */
+    protected long maxBorrowSeconds = 0L;
+
+    /** Source of the current time */
+    protected TimeSource timeSource = TimeSource.SYSTEM;
 
     /** Stable fields after spring bean initializing */
     protected BitsAllocator bitsAllocator;
     protected long workerId;
+    protected long maxSecond;
 
     /** Volatile fields caused by nextId() */
     protected long sequence = 0L;
@@ -86,6 +111,12 @@ public class DefaultUidGenerator implements UidGenerator, InitializingBean {
     public void afterPropertiesSet() throws Exception {
         // initialize bits allocator
         bitsAllocator = new BitsAllocator(timeBits, workerBits, seqBits);
+        maxSecond = epochSeconds + bitsAllocator.getMaxDeltaSeconds();
+
+        // fail fast if the timestamp bits are already exhausted at the tick unit, a finer tick covers fewer years
+        long currentSecond = timeSource.currentTimeMillis() / tickMillis;
+        Assert.isTrue(currentSecond <= maxSecond, "Timestamp bits " + timeBits + " are exhausted since "
+                + new Date(maxSecond * tickMillis) + " at tick " + tickMillis + "ms, increase timeBits or tickMillis!");
 
         // initialize worker id
         workerId = workerIdAssigner.assignWorkerId();
@@ -93,7 +124,8 @@ public class DefaultUidGenerator implements UidGenerator, InitializingBean {
             throw new RuntimeException("Worker id " + workerId + " exceeds the max " + bitsAllocator.getMaxWorkerId());
         }
 
-        LOGGER.info("Initialized bits(1, {}, {}, {}) for workerID:{}", timeBits, workerBits, seqBits, workerId);
+        LOGGER.info("Initialized bits(1, {}, {}, {}) tick:{}ms for workerID:{}", timeBits, workerBits, seqBits,
+                tickMillis, workerId);
     }
 
     @Override
@@ -119,7 +151,7 @@ public class DefaultUidGenerator implements UidGenerator, InitializingBean {
         long workerId = (uid << (timestampBits + signBits)) >>> (totalBits - workerIdBits);
         long deltaSeconds = uid >>> (workerIdBits + sequenceBits);
 
-        Date thatTime = new Date(TimeUnit.SECONDS.toMillis(epochSeconds + deltaSeconds));
+        Date thatTime = new Date((epochSeconds + deltaSeconds) * tickMillis);
         String thatTimeStr = DateUtils.formatByDateTimePattern(thatTime);
 
         // format as string
@@ -128,24 +160,59 @@ public class DefaultUidGenerator implements UidGenerator, InitializingBean {
     }
 
     /**
-     * Get UID
+     * Get UID, the caller parks out of the monitor when the sequences of the second are exhausted, so the other
+     * callers are not blocked on the monitor while waiting for the next second
      *
      * @return UID
      * @throws UidGenerateException in the case: Clock moved backwards; Exceeds the max timestamp
      */
-    protected synchronized long nextId() {
-        long currentSecond = getCurrentSecond();
+    protected long nextId() {
+        for (;;) {
+            long waitMillis;
+            synchronized (this) {
+                waitMillis = getSequenceWaitMillis();
+                if (waitMillis == 0) {
+                    return allocateNextId();
+                }
+            }
+
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(waitMillis));
+        }
+    }
+
+    /**
+     * Get the millis to wait for the next second if the sequences of the last second are exhausted & the next
+     * second can not be borrowed, must be called holding the monitor
+     *
+     * @return wait millis, 0 means that an UID can be allocated now
+     */
+    protected long getSequenceWaitMillis() {
+        if (((sequence + 1) & bitsAllocator.getMaxSequence()) != 0 || getBorrowableSecond(lastSecond) != lastSecond) {
+            return 0L;
+        }
+
+        return getNextSecondWaitMillis(lastSecond);
+    }
+
+    /**
+     * Allocate the next UID, must be called holding the monitor after {@link #getSequenceWaitMillis()} returns 0
+     *
+     * @return UID
+     * @throws UidGenerateException in the case: Clock moved backwards; Exceeds the max timestamp
+     */
+    protected long allocateNextId() {
+        long currentSecond = getBorrowableSecond(lastSecond);
 
         // Clock moved backwards, refuse to generate uid
         if (currentSecond < lastSecond) {
-            long refusedSeconds = lastSecond - currentSecond;
-            throw new UidGenerateException("Clock moved backwards. Refusing for %d seconds", refusedSeconds);
+            long refusedMillis = (lastSecond - currentSecond) * tickMillis;
+            throw new UidGenerateException("Clock moved backwards. Refusing for %d ms", refusedMillis);
         }
 
         // At the same second, increase sequence
         if (currentSecond == lastSecond) {
             sequence = (sequence + 1) & bitsAllocator.getMaxSequence();
-            // Exceed the max sequence, we wait the next second to generate uid
+            // Exceed the max sequence, take the next second, which has been waited for out of the monitor
             if (sequence == 0) {
                 currentSecond = getNextSecond(lastSecond);
             }
@@ -162,23 +229,69 @@ public class DefaultUidGenerator implements UidGenerator, InitializingBean {
     }
 
     /**
-     * Get next millisecond
+     * Get next tick, borrows it from the future if it is within {@link #maxBorrowSeconds} ahead of the clock,
+     * otherwise parks until the clock reaches the bound rather than spinning
      */
-    private long getNextSecond(long lastTimestamp) {
+    protected long getNextSecond(long lastTimestamp) {
+        long waitMillis;
+        while ((waitMillis = getNextSecondWaitMillis(lastTimestamp)) > 0) {
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(waitMillis));
+        }
+
+        long nextTimestamp = lastTimestamp + 1;
         long timestamp = getCurrentSecond();
-        while (timestamp <= lastTimestamp) {
-            timestamp = getCurrentSecond();
+        if (timestamp >= nextTimestamp) {
+            return timestamp;
+        }
+
+        // borrow the next tick from the future
+        if (nextTimestamp > maxSecond) {
+            throw new UidGenerateException("Timestamp bits is exhausted. Refusing UID generate. Now: " + nextTimestamp);
+        }
+        return nextTimestamp;
+    }
+
+    /**
+     * Get the millis to wait until the next tick is within {@link #maxBorrowSeconds} ahead of the clock
+     *
+     * @return wait millis, 0 means that the next tick can be taken now
+     */
+    protected long getNextSecondWaitMillis(long lastTimestamp) {
+        long nextTimestamp = lastTimestamp + 1;
+        long maxBorrow = getMaxBorrow();
+        if (nextTimestamp - getCurrentSecond() <= maxBorrow) {
+            return 0L;
+        }
+
+        return Math.max(1L, (nextTimestamp - maxBorrow) * tickMillis - timeSource.currentTimeMillis());
+    }
+
+    /**
+     * Get current tick, or the last tick if it is borrowed from the future & still within {@link #maxBorrowSeconds}
+     * ahead of the clock, which is not treated as the clock moved backwards
+     */
+    protected long getBorrowableSecond(long lastTimestamp) {
+        long currentSecond = getCurrentSecond();
+        if (currentSecond < lastTimestamp && lastTimestamp - currentSecond <= getMaxBorrow()) {
+            return lastTimestamp;
         }
 
-        return timestamp;
+        return currentSecond;
     }
 
     /**
-     * Get current second
+     * Convert the max borrow seconds to tick unit
      */
-    private long getCurrentSecond() {
-        long currentSecond = TimeUnit.MILLISECONDS.toSeconds(System.currentTimeMillis());
-        if (currentSecond - epochSeconds > bitsAllocator.getMaxDeltaSeconds()) {
+    protected long getMaxBorrow() {
+        return TimeUnit.SECONDS.toMillis(maxBorrowSeconds) / tickMillis;
+    }
+
+    /**
+     * Get current tick
+     */
+    protected long getCurrentSecond() {
+        long currentSecond = timeSource.currentTimeMillis() / tickMillis;
+        if (currentSecond > maxSecond) {
             throw new UidGenerateException("Timestamp bits is exhausted. Refusing UID generate. Now: " + currentSecond);
         }
 
@@ -213,7 +326,26 @@ public class DefaultUidGenerator implements UidGenerator, InitializingBean {
     public void setEpochStr(String epochStr) {
         if (StringUtils.isNotBlank(epochStr)) {
             this.epochStr = epochStr;
-            this.epochSeconds = TimeUnit.MILLISECONDS.toSeconds(DateUtils.parseByDayPattern(epochStr).getTime());
+            this.epochMillis = DateUtils.parseByDayPattern(epochStr).getTime();
+            this.epochSeconds = epochMillis / tickMillis;
         }
     }
+
+    public void setMaxBorrowSeconds(long maxBorrowSeconds) {
+        if (maxBorrowSeconds >= 0) {
+            this.maxBorrowSeconds = maxBorrowSeconds;
+        }
+    }
+
+    public void setTimeSource(TimeSource timeSource) {
+        Assert.notNull(timeSource, "Time source must not be null!");
+        this.timeSource = timeSource;
+    }
+
+    public void setTickMillis(long tickMillis) {
+        Assert.isTrue(tickMillis == 1L || tickMillis == 10L || tickMillis == 100L || tickMillis == 1000L,
+                "Tick millis must be one of 1, 10, 100 or 1000!");
+        this.tickMillis = tickMillis;
+        this.epochSeconds = epochMillis / tickMillis;
+    }
 }
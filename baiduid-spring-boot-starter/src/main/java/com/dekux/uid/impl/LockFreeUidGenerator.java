@@ -0,0 +1,127 @@
+package com.dekux.uid.impl;
+
+import com.dekux.uid.BitsAllocator;
+import com.dekux.uid.exception.UidGenerateException;
+import com.dekux.uid.utils.PaddedAtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Represents a lock-free implementation of {@link DefaultUidGenerator} without caching<p>
+ *
+ * The last delta seconds and the sequence are packed into one atomic long as the low bits of a UID:
+ * <pre>{@code
+ * +----------------------+-----------+
+ * |     delta seconds    | sequence  |
+ * +----------------------+-----------+
+ *        timeBits           seqBits
+ * }</pre>
+ * so a caller advances both of them with a single CAS instead of the monitor of {@link DefaultUidGenerator#nextId()},
+ * which neither serializes the callers on one lock, nor pins the virtual threads. The UIDs keep the same bit layout
+ * of the {@link BitsAllocator}<p>
+ *
+ * {@link #getUIDs(long[], int, int)} reserves the rest sequences of the current second with one CAS, rather than
+ * one CAS per UID. When the sequences are exhausted, the next second is borrowed within {@link #maxBorrowSeconds},
+ * or the callers park until the next second
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class LockFreeUidGenerator extends DefaultUidGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(LockFreeUidGenerator.class);
+
+    /** Packed state of last delta seconds & sequence, -1 means that no UID generated yet */
+    private final AtomicLong state = new PaddedAtomicLong(-1L);
+
+    @Override
+    public void getUIDs(long[] dst, int off, int len) throws UidGenerateException {
+        try {
+            for (int filled = 0; filled < len; ) {
+                filled += nextIds(dst, off + filled, len - filled);
+            }
+        } catch (UidGenerateException e) {
+            LOGGER.error("Generate unique id exception. ", e);
+            throw e;
+        } catch (Exception e) {
+            LOGGER.error("Generate unique id exception. ", e);
+            throw new UidGenerateException(e);
+        }
+    }
+
+    /**
+     * Get UID, the state is advanced by CAS without lock
+     *
+     * @return UID
+     * @throws UidGenerateException in the case: Clock moved backwards; Exceeds the max timestamp
+     */
+    @Override
+    protected long nextId() {
+        long first = advance(1);
+        return bitsAllocator.allocate(first >>> seqBits, workerId, first & bitsAllocator.getMaxSequence());
+    }
+
+    /**
+     * Fill UIDs of one second in the array
+     *
+     * @return count of UIDs filled, may be less than <code>len</code> if the rest sequences of the second are less
+     */
+    private int nextIds(long[] dst, int off, int len) {
+        long maxSequence = bitsAllocator.getMaxSequence();
+        long first = advance(len);
+        long deltaSeconds = first >>> seqBits;
+        long firstSequence = first & maxSequence;
+
+        // the reserved sequences never cross a second
+        int count = (int) Math.min(len, maxSequence - firstSequence + 1);
+        for (int i = 0; i < count; i++) {
+            dst[off + i] = bitsAllocator.allocate(deltaSeconds, workerId, firstSequence + i);
+        }
+        return count;
+    }
+
+    /**
+     * Reserve at most <code>count</code> sequences of the current second by CAS, waits for the next second if the
+     * sequences of the current second are exhausted
+     *
+     * @return the packed state of the first sequence reserved, the sequences reserved are up to the max sequence
+     */
+    private long advance(int count) {
+        long maxSequence = bitsAllocator.getMaxSequence();
+        for (;;) {
+            long current = state.get();
+            long lastDeltaSeconds = current >> seqBits;
+            long deltaSeconds = getBorrowableSecond(epochSeconds + lastDeltaSeconds) - epochSeconds;
+
+            // Clock moved backwards, refuse to generate uid
+            if (deltaSeconds < lastDeltaSeconds) {
+                long refusedMillis = (lastDeltaSeconds - deltaSeconds) * tickMillis;
+                throw new UidGenerateException("Clock moved backwards. Refusing for %d ms", refusedMillis);
+            }
+
+            long first;
+            if (deltaSeconds == lastDeltaSeconds) {
+                // At the same second, increase sequence
+                long sequence = current & maxSequence;
+                if (sequence == maxSequence) {
+                    // Exceed the max sequence, we borrow or wait the next second to generate uid
+                    deltaSeconds = getNextSecond(epochSeconds + lastDeltaSeconds) - epochSeconds;
+                    first = deltaSeconds << seqBits;
+                } else {
+                    first = current + 1;
+                }
+            } else {
+                // At the different second, sequence restart from zero
+                first = deltaSeconds << seqBits;
+            }
+
+            // reserve the sequences up to the max sequence of the second
+            long next = first + Math.min(count - 1, maxSequence - (first & maxSequence));
+            if (state.compareAndSet(current, next)) {
+                return first;
+            }
+        }
+    }
+
+}
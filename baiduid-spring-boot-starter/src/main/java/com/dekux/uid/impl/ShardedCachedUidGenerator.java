@@ -0,0 +1,215 @@
+package com.dekux.uid.impl;
+
+import com.dekux.uid.BitsAllocator;
+import com.dekux.uid.buffer.BufferPaddingExecutor;
+import com.dekux.uid.buffer.PredictivePaddingPolicy;
+import com.dekux.uid.buffer.UidBuffer;
+import com.dekux.uid.utils.PaddingExecutors;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.Assert;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Represents a cached implementation of {@link com.dekux.uid.UidGenerator} which holds several buffer shards
+ * instead of a single one, each buffer has its own tail & cursor, so the callers on different cores don't
+ * contend on the same cursor any more<p>
+ *
+ * The sequences of each second are split into {@link #shards} disjoint sub-ranges, and the shard <code>i</code> is
+ * only padded with the sub-range <code>i</code>, so the UIDs of the shards never conflict with each other even if
+ * the shards are padded to different seconds. The callers pick a shard by the hash of the thread, and steal from the
+ * neighbours when the own shard is empty. All the shards share one padding thread pool and one schedule thread<p>
+ *
+ * The spring properties are the same as {@link CachedUidGenerator}, except:
+ * <li><b>shards:</b> Count of the buffer shards, must be a power of 2 and not greater than
+ * <code>{@link BitsAllocator#getMaxSequence()} + 1</code>. The size of each shard is
+ * <code>({@link BitsAllocator#getMaxSequence()} + 1) / shards &lt;&lt; boostPower</code>, Default as 1
+ *
+ * The adaptive sizing by minBoostPower & maxBoostPower is not applied to the shards, each shard is fixed by boostPower
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class ShardedCachedUidGenerator extends CachedUidGenerator {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShardedCachedUidGenerator.class);
+
+    /** Constants */
+    private static final String WORKER_NAME = "ShardedRingBuffer-Padding-Worker";
+    private static final String SCHEDULE_NAME = "ShardedRingBuffer-Padding-Schedule";
+    private static final long PROBE_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+    /**
+     * Spring properties
+     */
+    private int shards = 1;
+
+    /**
+     * Buffer shards & executors
+     */
+    private int shardMask;
+    private UidBuffer[] buffers;
+    private BufferPaddingExecutor[] bufferPaddingExecutors;
+    private ExecutorService bufferPadExecutors;
+    private ScheduledExecutorService bufferPadSchedule;
+    private boolean ownExecutors;
+
+    @Override
+    protected long takeUid() {
+        int home = homeShard();
+        for (int i = 0; i < buffers.length; i++) {
+            long uid = buffers[(home + i) & shardMask].tryTake();
+            if (uid != UidBuffer.EMPTY) {
+                return uid;
+            }
+        }
+
+        // all the shards are empty, apply the rejected take handler of the own shard
+        return buffers[home].take();
+    }
+
+    @Override
+    protected int takeUids(long[] dst, int off, int len) {
+        int count = tryTakeUids(dst, off, len);
+
+        // all the shards are empty, apply the rejected take handler of the own shard
+        return count > 0 ? count : buffers[homeShard()].take(dst, off, len);
+    }
+
+    @Override
+    protected int tryTakeUids(long[] dst, int off, int len) {
+        int home = homeShard();
+        for (int i = 0; i < buffers.length; i++) {
+            int count = buffers[(home + i) & shardMask].tryTake(dst, off, len);
+            if (count > 0) {
+                return count;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * Register the callback to the own shard, which is triggered padding by the failed take
+     *
+     * @param callback
+     */
+    @Override
+    public void whenAvailable(Runnable callback) {
+        bufferPaddingExecutors[homeShard()].whenAvailable(callback);
+    }
+
+    /**
+     * The max lead of the shards, each shard is padded by its own executor
+     */
+    @Override
+    public long getLead() {
+        long lead = Long.MIN_VALUE;
+        for (BufferPaddingExecutor executor : bufferPaddingExecutors) {
+            lead = Math.max(lead, executor.getLead());
+        }
+        return lead;
+    }
+
+    @Override
+    protected String describeBuffer() {
+        return Arrays.toString(buffers);
+    }
+
+    @Override
+    public void destroy() throws Exception {
+        for (BufferPaddingExecutor executor : bufferPaddingExecutors) {
+            executor.shutdown();
+        }
+
+        if (!ownExecutors) {
+            return;
+        }
+        bufferPadExecutors.shutdownNow();
+        if (bufferPadSchedule != null) {
+            bufferPadSchedule.shutdownNow();
+        }
+    }
+
+    /**
+     * Pick the shard of the current thread by a hash of the thread id, which spreads the sequential ids
+     */
+    private int homeShard() {
+        long probe = Thread.currentThread().getId() * PROBE_MULTIPLIER;
+        return (int) (probe >>> 32) & shardMask;
+    }
+
+    /**
+     * Initialize the buffer shards & their padding executors
+     */
+    @Override
+    protected void initRingBuffer() {
+        int maxSequences = (int) bitsAllocator.getMaxSequence() + 1;
+        Assert.isTrue(shards <= maxSequences, "Shards must not be greater than the max sequence + 1!");
+
+        // each shard is padded with a sub-range of the sequences in a second
+        int shardSequences = maxSequences / shards;
+        int bufferSize = shardSequences << boostPower;
+        Assert.isTrue(leaseSize < bufferSize, "Lease size must be less than the buffer size of a shard!");
+
+        // initialize the executors shared by all the shards, unless they are shared with others
+        boolean usingSchedule = (scheduleInterval != null);
+        this.ownExecutors = (paddingExecutor == null);
+        if (ownExecutors) {
+            int cores = Runtime.getRuntime().availableProcessors();
+            this.bufferPadExecutors = PaddingExecutors.newPaddingExecutor(WORKER_NAME, Math.min(shards, cores * 2));
+            this.bufferPadSchedule = usingSchedule ? PaddingExecutors.newPaddingSchedule(SCHEDULE_NAME) : null;
+        } else {
+            Assert.isTrue(!usingSchedule || paddingSchedule != null, "Padding schedule must be set to use schedule!");
+            this.bufferPadExecutors = paddingExecutor;
+            this.bufferPadSchedule = usingSchedule ? paddingSchedule : null;
+        }
+
+        this.shardMask = shards - 1;
+        this.buffers = new UidBuffer[shards];
+        this.bufferPaddingExecutors = new BufferPaddingExecutor[shards];
+        for (int shard = 0; shard < shards; shard++) {
+            int firstSequence = shard * shardSequences;
+            UidBuffer buffer = bufferType.create(bufferSize, paddingFactor);
+            BufferPaddingExecutor executor = new BufferPaddingExecutor(buffer,
+                    (second, range) -> nextIdsForOneSecond(second, firstSequence, shardSequences, range),
+                    bufferPadExecutors, bufferPadSchedule);
+            executor.setTimeSource(timeSource, tickMillis);
+            if (usingSchedule) {
+                executor.setScheduleInterval(scheduleInterval);
+            }
+            if (paddingHeadroom != null) {
+                executor.setPaddingPolicy(new PredictivePaddingPolicy(paddingHeadroom));
+            }
+            executor.setPaddingParallelism(paddingParallelism);
+            if (maxLeadSeconds != null) {
+                executor.setMaxLead(getMaxLead());
+            }
+
+            // set rejected put/take handle policy & wait strategy
+            configureBuffer(buffer, executor);
+
+            this.buffers[shard] = buffer;
+            this.bufferPaddingExecutors[shard] = executor;
+        }
+        LOGGER.info("Initialized {} buffer shards type:{}, size:{}, paddingFactor:{}", shards, bufferType,
+                bufferSize, paddingFactor);
+
+        // fill in all slots of the shards, then start buffer padding threads
+        for (BufferPaddingExecutor executor : bufferPaddingExecutors) {
+            executor.paddingBuffer();
+            executor.start();
+        }
+        LOGGER.info("Initialized BufferPaddingExecutors. Using schdule:{}, interval:{}", usingSchedule, scheduleInterval);
+    }
+
+    /**
+     * Setters for spring property
+     */
+    public void setShards(int shards) {
+        Assert.isTrue(shards > 0 && Integer.bitCount(shards) == 1, "Shards must be positive & a power of 2!");
+        this.shards = shards;
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.dekux.uid.metrics;
+
+import com.dekux.uid.UidGenerator;
+import com.dekux.uid.impl.CachedUidGenerator;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.util.Assert;
+
+/**
+ * Binds the metrics of {@link UidGenerator} to a Micrometer {@link MeterRegistry}<p>
+ *
+ * Only {@link CachedUidGenerator} has metrics now:
+ * <li><b>baiduid.lead:</b> lead of the last second padded ahead of the clock in milliseconds, which keeps rising
+ *     under a sustained overload until the max lead is reached
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class UidGeneratorMetrics implements MeterBinder {
+
+    private final UidGenerator uidGenerator;
+
+    public UidGeneratorMetrics(UidGenerator uidGenerator) {
+        Assert.notNull(uidGenerator, "Uid generator must not be null!");
+        this.uidGenerator = uidGenerator;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        if (uidGenerator instanceof CachedUidGenerator) {
+            Gauge.builder("baiduid.lead", (CachedUidGenerator) uidGenerator, CachedUidGenerator::getLeadMillis)
+                 .description("Lead of the last second padded ahead of the clock")
+                 .baseUnit("milliseconds")
+                 .register(registry);
+        }
+    }
+
+}
@@ -0,0 +1,139 @@
+package com.dekux.uid.reactive;
+
+import com.dekux.uid.UidGenerator;
+import com.dekux.uid.exception.UidGenerateException;
+import org.springframework.util.Assert;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Reactive facade of {@link UidGenerator}, which publishes UIDs by the demand of the subscriber<p>
+ *
+ * Each <code>request(n)</code> is served by taking UIDs from the buffer in batches of at most {@link #batchSize},
+ * on the requesting thread. When the buffer is empty, the take has triggered padding already, so the publisher
+ * just registers to {@link UidGenerator#whenAvailable(Runnable)} and resumes in the padding thread pool once new
+ * UIDs are published, it never blocks or throws for an empty buffer. Only the errors of generating, such as clock
+ * moved backwards, are signalled by <code>onError</code>
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class ReactiveUidGenerator {
+    private static final int DEFAULT_BATCH_SIZE = 256;
+
+    private final UidGenerator uidGenerator;
+    private final int batchSize;
+
+    public ReactiveUidGenerator(UidGenerator uidGenerator) {
+        this(uidGenerator, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Constructor with the generator & batch size
+     *
+     * @param uidGenerator {@link UidGenerator}
+     * @param batchSize max count of UIDs taken from the buffer at once
+     */
+    public ReactiveUidGenerator(UidGenerator uidGenerator, int batchSize) {
+        Assert.notNull(uidGenerator, "Uid generator must not be null!");
+        Assert.isTrue(batchSize > 0, "Batch size must be positive!");
+        this.uidGenerator = uidGenerator;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * An infinite stream of UIDs, which is generated by the demand of the subscriber
+     *
+     * @return UIDs
+     */
+    public Flux<Long> uids() {
+        return Flux.create(sink -> new UidEmitter(sink).start());
+    }
+
+    /**
+     * A stream of <code>count</code> UIDs, no more UIDs than that are taken from the buffer
+     *
+     * @param count count of UIDs
+     * @return UIDs
+     */
+    public Flux<Long> uids(long count) {
+        return uids().take(count, true);
+    }
+
+    /**
+     * An UID
+     *
+     * @return UID
+     */
+    public Mono<Long> uid() {
+        return uids(1).single();
+    }
+
+    /**
+     * Emitter of a subscription, the drain is serialized by the work-in-progress counter, so the requesting
+     * threads and the callback of available UIDs never emit concurrently
+     */
+    private final class UidEmitter implements Runnable {
+        private final FluxSink<Long> sink;
+        private final AtomicInteger wip = new AtomicInteger();
+        private final long[] uids = new long[batchSize];
+
+        private UidEmitter(FluxSink<Long> sink) {
+            this.sink = sink;
+        }
+
+        private void start() {
+            sink.onRequest(n -> drain());
+        }
+
+        @Override
+        public void run() {
+            drain();
+        }
+
+        private void drain() {
+            if (wip.getAndIncrement() != 0) {
+                return;
+            }
+
+            int missed = 1;
+            do {
+                emit();
+                missed = wip.addAndGet(-missed);
+            } while (missed != 0);
+        }
+
+        /**
+         * Emit UIDs until the demand is satisfied, or the buffer is empty
+         */
+        private void emit() {
+            try {
+                long requested;
+                while (!sink.isCancelled() && (requested = sink.requestedFromDownstream()) > 0) {
+                    int len = (int) Math.min(requested, uids.length);
+                    int count = uidGenerator.tryGetUIDs(uids, 0, len);
+                    if (count == 0) {
+                        // try again after registering, in case that the UIDs are published in the meantime
+                        uidGenerator.whenAvailable(this);
+                        count = uidGenerator.tryGetUIDs(uids, 0, len);
+                        if (count == 0) {
+                            return;
+                        }
+                    }
+
+                    for (int i = 0; i < count; i++) {
+                        sink.next(uids[i]);
+                    }
+                }
+            } catch (UidGenerateException e) {
+                sink.error(e);
+            } catch (Exception e) {
+                sink.error(new UidGenerateException(e));
+            }
+        }
+    }
+
+}
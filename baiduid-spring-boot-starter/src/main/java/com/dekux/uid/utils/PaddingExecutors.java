@@ -0,0 +1,68 @@
+package com.dekux.uid.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Factories of the executors for padding the buffers, which can be shared by the buffers of all the generators,
+ * since at most one padding task of a buffer is running at a time<p>
+ *
+ * <b>Note that: </b> This is the Java 8 version, the virtual threads are only available in the Java 21 version
+ * of the multi-release jar
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public final class PaddingExecutors {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PaddingExecutors.class);
+
+    private PaddingExecutors() {
+    }
+
+    /**
+     * Whether the virtual threads are supported by the running JVM
+     *
+     * @return false before Java 21
+     */
+    public static boolean isVirtualThreadSupported() {
+        return false;
+    }
+
+    /**
+     * Create a thread pool of platform threads for padding, the threads are created on demand
+     *
+     * @param name prefix of the thread names
+     * @param threads max count of threads
+     * @return thread pool
+     */
+    public static ExecutorService newPaddingExecutor(String name, int threads) {
+        return Executors.newFixedThreadPool(threads, new NamingThreadFactory(name));
+    }
+
+    /**
+     * Create an executor which starts a virtual thread for each padding task, falls back to a thread pool of
+     * platform threads sized by the cores before Java 21
+     *
+     * @param name prefix of the thread names
+     * @return executor
+     */
+    public static ExecutorService newVirtualThreadExecutor(String name) {
+        LOGGER.warn("Virtual threads are not supported before Java 21, padding with platform threads instead.");
+        return newPaddingExecutor(name, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Create a single thread schedule for padding, the thread is created on the first schedule
+     *
+     * @param name prefix of the thread name
+     * @return schedule
+     */
+    public static ScheduledExecutorService newPaddingSchedule(String name) {
+        return Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(name));
+    }
+
+}
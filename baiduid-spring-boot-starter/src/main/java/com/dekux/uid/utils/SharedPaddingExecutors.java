@@ -0,0 +1,51 @@
+package com.dekux.uid.utils;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.util.Assert;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Holder of the padding executors shared by the generators, see {@link PaddingExecutors}<p>
+ *
+ * The executors are registered as one bean of this type instead of the raw {@link ExecutorService} &
+ * {@link ScheduledExecutorService} beans, otherwise the task execution & scheduling auto-configuration of Spring Boot
+ * backs off, and <code>@Scheduled</code> methods are run by the padding schedule. Both are shut down on destroy
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public class SharedPaddingExecutors implements DisposableBean {
+
+    /** Thread pool for padding immediately */
+    private final ExecutorService executor;
+
+    /** Schedule thread for padding periodically */
+    private final ScheduledExecutorService schedule;
+
+    public SharedPaddingExecutors(ExecutorService executor, ScheduledExecutorService schedule) {
+        Assert.notNull(executor, "Padding executor must not be null!");
+        Assert.notNull(schedule, "Padding schedule must not be null!");
+        this.executor = executor;
+        this.schedule = schedule;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+        schedule.shutdownNow();
+    }
+
+    /**
+     * Getters
+     */
+    public ExecutorService getExecutor() {
+        return executor;
+    }
+
+    public ScheduledExecutorService getSchedule() {
+        return schedule;
+    }
+
+}
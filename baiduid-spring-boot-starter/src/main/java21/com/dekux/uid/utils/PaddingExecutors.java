@@ -0,0 +1,66 @@
+package com.dekux.uid.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+/**
+ * Factories of the executors for padding the buffers, which can be shared by the buffers of all the generators,
+ * since at most one padding task of a buffer is running at a time<p>
+ *
+ * <b>Note that: </b> This is the Java 21 version of the multi-release jar, which supports the virtual threads
+ *
+ * @author yuan
+ * @since 1.2
+ */
+public final class PaddingExecutors {
+    private static final Logger LOGGER = LoggerFactory.getLogger(PaddingExecutors.class);
+
+    private PaddingExecutors() {
+    }
+
+    /**
+     * Whether the virtual threads are supported by the running JVM
+     *
+     * @return true since Java 21
+     */
+    public static boolean isVirtualThreadSupported() {
+        return true;
+    }
+
+    /**
+     * Create a thread pool of platform threads for padding, the threads are created on demand
+     *
+     * @param name prefix of the thread names
+     * @param threads max count of threads
+     * @return thread pool
+     */
+    public static ExecutorService newPaddingExecutor(String name, int threads) {
+        return Executors.newFixedThreadPool(threads, new NamingThreadFactory(name));
+    }
+
+    /**
+     * Create an executor which starts a virtual thread for each padding task
+     *
+     * @param name prefix of the thread names
+     * @return executor
+     */
+    public static ExecutorService newVirtualThreadExecutor(String name) {
+        LOGGER.info("Padding with virtual threads.");
+        return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(name + "-", 1).factory());
+    }
+
+    /**
+     * Create a single thread schedule for padding, the thread is created on the first schedule
+     *
+     * @param name prefix of the thread name
+     * @return schedule
+     */
+    public static ScheduledExecutorService newPaddingSchedule(String name) {
+        return Executors.newSingleThreadScheduledExecutor(new NamingThreadFactory(name));
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.dekux.uid.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntConsumer;
+
+import static com.dekux.uid.buffer.PaddingFixtures.newPaddingExecutor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Multi-threaded uniqueness & exhaustion tests shared by the {@link UidBuffer} engines
+ *
+ * @author yuan
+ * @since 1.2
+ */
+abstract class AbstractUidBufferTest {
+    protected static final int BUFFER_SIZE = 1 << 10;
+    private static final int THREADS = 8;
+    private static final long TIMEOUT_SECONDS = 30L;
+
+    /**
+     * Create the buffer of the engine under test
+     */
+    protected abstract UidBuffer createBuffer(int bufferSize);
+
+    @Test
+    void concurrentTakesAreUnique() throws Exception {
+        UidBuffer buffer = createBuffer(BUFFER_SIZE);
+        BufferPaddingExecutor executor = newPaddingExecutor(buffer);
+        buffer.setWaitStrategy(WaitStrategyType.YIELD.create(), 1, TimeUnit.SECONDS);
+        executor.paddingBuffer();
+
+        Set<Long> uids = ConcurrentHashMap.newKeySet();
+        try {
+            runConcurrently(thread -> {
+                long[] batch = new long[16];
+                for (int i = 0; i < 20_000; i++) {
+                    if ((thread & 1) == 0) {
+                        assertTrue(uids.add(buffer.take()), "Duplicated UID");
+                        continue;
+                    }
+
+                    int count = buffer.take(batch, 0, 1 + i % batch.length);
+                    for (int j = 0; j < count; j++) {
+                        assertTrue(uids.add(batch[j]), "Duplicated UID");
+                    }
+                }
+            });
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void tryTakeReturnsEmptyOnceExhausted() throws Exception {
+        UidBuffer buffer = createBuffer(BUFFER_SIZE);
+        BufferPaddingExecutor executor = newPaddingExecutor(buffer);
+        executor.paddingBuffer();
+
+        // no more padding, the async padding is rejected by the executor shut down
+        executor.shutdown();
+        long padded = buffer.getTail() + 1;
+
+        Set<Long> uids = ConcurrentHashMap.newKeySet();
+        runConcurrently(thread -> {
+            long[] batch = new long[7];
+            while (true) {
+                if ((thread & 1) == 0) {
+                    long uid = buffer.tryTake();
+                    if (uid == UidBuffer.EMPTY) {
+                        return;
+                    }
+                    assertTrue(uids.add(uid), "Duplicated UID");
+                    continue;
+                }
+
+                int count = buffer.tryTake(batch, 0, batch.length);
+                if (count == 0) {
+                    return;
+                }
+                for (int j = 0; j < count; j++) {
+                    assertTrue(uids.add(batch[j]), "Duplicated UID");
+                }
+            }
+        });
+
+        assertEquals(padded, uids.size());
+        assertEquals(UidBuffer.EMPTY, buffer.tryTake());
+        assertEquals(buffer.getTail(), buffer.getCursor());
+    }
+
+    @Test
+    void carriedOverUidsAreNotRejected() {
+        UidBuffer buffer = createBuffer(BUFFER_SIZE);
+        BufferPaddingExecutor executor = newPaddingExecutor(buffer);
+        AtomicLong rejected = new AtomicLong();
+        buffer.setListener(new RingBufferListener() {
+            @Override
+            public void putRejected(UidBuffer buffer, long uid) {
+                rejected.incrementAndGet();
+            }
+        });
+        buffer.setRejectedPutHandler((rejectedBuffer, uid) -> rejected.incrementAndGet());
+
+        // the buffer size is not a multiple of the UIDs per second, the rest of the last second is carried over
+        try {
+            executor.paddingBuffer();
+            executor.paddingBuffer();
+            assertEquals(0L, rejected.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void interruptedTakeIsRejected() {
+        UidBuffer buffer = createBuffer(BUFFER_SIZE);
+        BufferPaddingExecutor executor = newPaddingExecutor(buffer);
+        buffer.setWaitStrategy(WaitStrategyType.BLOCKING.create(), TIMEOUT_SECONDS, TimeUnit.SECONDS);
+
+        // the buffer is never padded, an interrupted consumer stops waiting instead of spinning until the timeout
+        executor.shutdown();
+        Thread.currentThread().interrupt();
+        try {
+            long startNanos = System.nanoTime();
+            assertThrows(RuntimeException.class, buffer::take);
+            assertTrue(System.nanoTime() - startNanos < TimeUnit.SECONDS.toNanos(1), "Waited after interrupted");
+            assertTrue(Thread.currentThread().isInterrupted(), "Interrupt flag must be kept");
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    /**
+     * Run the task in the threads, fails if any of them fails or doesn't finish in time
+     */
+    protected void runConcurrently(IntConsumer task) throws Exception {
+        ExecutorService threads = Executors.newFixedThreadPool(THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++) {
+                int index = thread;
+                futures.add(threads.submit(() -> task.accept(index)));
+            }
+            for (Future<?> future : futures) {
+                future.get(TIMEOUT_SECONDS, TimeUnit.SECONDS);
+            }
+        } finally {
+            threads.shutdownNow();
+        }
+    }
+
+}
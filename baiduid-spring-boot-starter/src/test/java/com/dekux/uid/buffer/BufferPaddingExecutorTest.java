@@ -0,0 +1,118 @@
+package com.dekux.uid.buffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.dekux.uid.buffer.PaddingFixtures.UIDS_PER_SECOND;
+import static com.dekux.uid.buffer.PaddingFixtures.configureBuffer;
+import static com.dekux.uid.buffer.PaddingFixtures.newPaddingExecutor;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Tests of padding & switching the buffer of {@link BufferPaddingExecutor}
+ *
+ * @author yuan
+ * @since 1.2
+ */
+class BufferPaddingExecutorTest {
+    private static final int BUFFER_SIZE = 1 << 10;
+
+    @Test
+    void switchBufferMigratesAllSegments() {
+        UidBuffer current = new SegmentBuffer(BUFFER_SIZE);
+        BufferPaddingExecutor executor = newPaddingExecutor(current);
+        executor.paddingBuffer();
+        long available = current.getTail() - current.getCursor();
+        assertTrue(available > UIDS_PER_SECOND, "The buffer must hold several segments");
+
+        // no more async padding triggered by the draining, then all the UIDs available are migrated
+        executor.shutdown();
+        UidBuffer buffer = configureBuffer(new SegmentBuffer(BUFFER_SIZE << 1), executor);
+        assertEquals(available, executor.switchBuffer(buffer));
+        assertEquals(available, buffer.getTail() + 1);
+        assertEquals(UidBuffer.EMPTY, current.tryTake());
+    }
+
+    @Test
+    void waitingConsumerTakesFromSwitchedBuffer() throws Exception {
+        UidBuffer current = new RingBuffer(BUFFER_SIZE);
+        BufferPaddingExecutor executor = newPaddingExecutor(current);
+        current.setWaitStrategy(WaitStrategyType.BLOCKING.create(), 30, TimeUnit.SECONDS);
+        executor.paddingBuffer();
+
+        // no more async padding, then drain the current buffer
+        executor.shutdown();
+        while (current.tryTake() != UidBuffer.EMPTY) {
+        }
+
+        CompletableFuture<Long> taken = CompletableFuture.supplyAsync(current::take);
+        Thread.sleep(50L);
+        assertFalse(taken.isDone(), "The consumer must wait for the padding");
+
+        UidBuffer buffer = configureBuffer(new RingBuffer(BUFFER_SIZE), executor);
+        buffer.setWaitStrategy(WaitStrategyType.BLOCKING.create(), 30, TimeUnit.SECONDS);
+        executor.switchBuffer(buffer);
+        executor.paddingBuffer();
+
+        long uid = taken.get(5, TimeUnit.SECONDS);
+        assertTrue(uid != UidBuffer.EMPTY, "The consumer must take from the switched buffer");
+        assertEquals(0L, buffer.getCursor());
+    }
+
+    @Test
+    void failedPaddingReleasesTheFlag() {
+        UidBuffer buffer = new RingBuffer(BUFFER_SIZE);
+        AtomicLong nextUid = new AtomicLong();
+        AtomicBoolean exhausted = new AtomicBoolean(true);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        BufferPaddingExecutor executor = new BufferPaddingExecutor(buffer, (second, range) -> {
+            if (exhausted.getAndSet(false)) {
+                throw new IllegalStateException("Timestamp bits is exhausted");
+            }
+            range.set(nextUid.getAndAdd(UIDS_PER_SECOND), UIDS_PER_SECOND);
+        }, false);
+        executor.setListener(new RingBufferListener() {
+            @Override
+            public void paddingFailed(UidBuffer buffer, long lastSecond, Throwable cause) {
+                failure.set(cause);
+            }
+        });
+        configureBuffer(buffer, executor);
+
+        assertThrows(IllegalStateException.class, executor::paddingBuffer);
+        assertTrue(failure.get() instanceof IllegalStateException, "The failure must be reported to the listener");
+        assertFalse(executor.isRunning(), "The padding flag must be released by the failed pass");
+
+        // the next padding still runs
+        executor.paddingBuffer();
+        assertEquals(BUFFER_SIZE - 1L, buffer.getTail());
+        executor.shutdown();
+    }
+
+    @Test
+    void rejectedPaddingTaskIsReported() {
+        UidBuffer buffer = new RingBuffer(BUFFER_SIZE);
+        BufferPaddingExecutor executor = newPaddingExecutor(buffer);
+        AtomicLong rejected = new AtomicLong();
+        executor.setListener(new RingBufferListener() {
+            @Override
+            public void paddingRejected(UidBuffer buffer) {
+                rejected.incrementAndGet();
+            }
+        });
+
+        executor.shutdown();
+        assertFalse(executor.asyncPadding(), "No padding task can be submitted once shut down");
+        assertFalse(executor.asyncPadding(), "No padding task can be submitted once shut down");
+        assertEquals(2L, rejected.get());
+    }
+
+}
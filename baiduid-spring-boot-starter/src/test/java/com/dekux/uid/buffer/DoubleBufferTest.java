@@ -0,0 +1,16 @@
+package com.dekux.uid.buffer;
+
+/**
+ * Tests of {@link DoubleBuffer}
+ *
+ * @author yuan
+ * @since 1.2
+ */
+class DoubleBufferTest extends AbstractUidBufferTest {
+
+    @Override
+    protected UidBuffer createBuffer(int bufferSize) {
+        return new DoubleBuffer(bufferSize);
+    }
+
+}
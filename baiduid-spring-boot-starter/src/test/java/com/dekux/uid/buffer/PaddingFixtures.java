@@ -0,0 +1,38 @@
+package com.dekux.uid.buffer;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Padding executors & buffers shared by the buffer tests
+ *
+ * @author yuan
+ * @since 1.2
+ */
+final class PaddingFixtures {
+    static final int UIDS_PER_SECOND = 100;
+
+    private PaddingFixtures() {
+    }
+
+    /**
+     * Padding executor providing contiguous UIDs, without schedule
+     */
+    static BufferPaddingExecutor newPaddingExecutor(UidBuffer buffer) {
+        AtomicLong nextUid = new AtomicLong();
+        BufferPaddingExecutor executor = new BufferPaddingExecutor(buffer,
+                (second, range) -> range.set(nextUid.getAndAdd(UIDS_PER_SECOND), UIDS_PER_SECOND), false);
+        executor.setListener(RingBufferListener.NOOP);
+        configureBuffer(buffer, executor);
+        return executor;
+    }
+
+    /**
+     * Configure the buffer padded by the executor
+     */
+    static UidBuffer configureBuffer(UidBuffer buffer, BufferPaddingExecutor executor) {
+        buffer.setBufferPaddingExecutor(executor);
+        buffer.setListener(RingBufferListener.NOOP);
+        return buffer;
+    }
+
+}
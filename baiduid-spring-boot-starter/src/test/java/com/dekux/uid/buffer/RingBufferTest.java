@@ -0,0 +1,16 @@
+package com.dekux.uid.buffer;
+
+/**
+ * Tests of {@link RingBuffer}
+ *
+ * @author yuan
+ * @since 1.2
+ */
+class RingBufferTest extends AbstractUidBufferTest {
+
+    @Override
+    protected UidBuffer createBuffer(int bufferSize) {
+        return new RingBuffer(bufferSize);
+    }
+
+}
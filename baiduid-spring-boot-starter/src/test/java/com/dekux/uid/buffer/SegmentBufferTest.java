@@ -0,0 +1,16 @@
+package com.dekux.uid.buffer;
+
+/**
+ * Tests of {@link SegmentBuffer}
+ *
+ * @author yuan
+ * @since 1.2
+ */
+class SegmentBufferTest extends AbstractUidBufferTest {
+
+    @Override
+    protected UidBuffer createBuffer(int bufferSize) {
+        return new SegmentBuffer(bufferSize);
+    }
+
+}
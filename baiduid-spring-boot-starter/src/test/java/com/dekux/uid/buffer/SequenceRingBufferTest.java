@@ -0,0 +1,16 @@
+package com.dekux.uid.buffer;
+
+/**
+ * Tests of {@link SequenceRingBuffer}
+ *
+ * @author yuan
+ * @since 1.2
+ */
+class SequenceRingBufferTest extends AbstractUidBufferTest {
+
+    @Override
+    protected UidBuffer createBuffer(int bufferSize) {
+        return new SequenceRingBuffer(bufferSize);
+    }
+
+}
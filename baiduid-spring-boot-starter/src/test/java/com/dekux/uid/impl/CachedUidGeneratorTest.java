@@ -0,0 +1,70 @@
+package com.dekux.uid.impl;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of resizing the buffer of {@link CachedUidGenerator}
+ *
+ * @author yuan
+ * @since 1.2
+ */
+class CachedUidGeneratorTest {
+    private static final String EPOCH = "2023-02-23";
+    private static final int THREADS = 4;
+    private static final int RESIZES = 20;
+
+    @Test
+    void resizeUnderConcurrentTakersIsNotRejected() throws Exception {
+        CachedUidGenerator generator = new CachedUidGenerator();
+        generator.setEpochStr(EPOCH);
+        generator.setWorkerIdAssigner(() -> 1L);
+        generator.setBoostPower(1);
+        generator.afterPropertiesSet();
+
+        Set<Long> uids = ConcurrentHashMap.newKeySet();
+        AtomicLong duplicates = new AtomicLong();
+        AtomicLong rejections = new AtomicLong();
+        AtomicBoolean stopped = new AtomicBoolean();
+        Thread[] takers = new Thread[THREADS];
+        for (int i = 0; i < THREADS; i++) {
+            takers[i] = new Thread(() -> {
+                while (!stopped.get()) {
+                    try {
+                        if (!uids.add(generator.getUID())) {
+                            duplicates.incrementAndGet();
+                        }
+                    } catch (RuntimeException e) {
+                        rejections.incrementAndGet();
+                    }
+                    Thread.yield();
+                }
+            });
+            takers[i].start();
+        }
+
+        // grow & shrink the buffer while the takers keep taking without waiting
+        try {
+            for (int i = 0; i < RESIZES; i++) {
+                Thread.sleep(10L);
+                generator.resizeRingBuffer(i % 2 == 0 ? 2 : 1);
+            }
+        } finally {
+            stopped.set(true);
+            for (Thread taker : takers) {
+                taker.join();
+            }
+            generator.destroy();
+        }
+
+        assertEquals(0L, rejections.get());
+        assertEquals(0L, duplicates.get());
+    }
+
+}
@@ -0,0 +1,37 @@
+package com.dekux.uid.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Tests of borrowing the ticks from the future of {@link DefaultUidGenerator}
+ *
+ * @author yuan
+ * @since 1.2
+ */
+class DefaultUidGeneratorTest {
+    private static final String EPOCH = "2023-02-23";
+    private static final long TICK_MILLIS = 10L;
+
+    @Test
+    void maxBorrowSecondsIsConvertedToTicks() throws Exception {
+        DefaultUidGenerator generator = new DefaultUidGenerator();
+        generator.setTickMillis(TICK_MILLIS);
+        generator.setEpochStr(EPOCH);
+        long now = generator.epochMillis + 1000L;
+        generator.setTimeSource(() -> now);
+        generator.setWorkerIdAssigner(() -> 1L);
+        generator.setMaxBorrowSeconds(1L);
+        generator.afterPropertiesSet();
+
+        // one second is 100 ticks of 10ms
+        long currentTick = now / TICK_MILLIS;
+        assertEquals(100L, generator.getMaxBorrow());
+        assertEquals(0L, generator.getNextSecondWaitMillis(currentTick + 99));
+        assertEquals(TICK_MILLIS, generator.getNextSecondWaitMillis(currentTick + 100));
+        assertEquals(currentTick + 100, generator.getBorrowableSecond(currentTick + 100));
+        assertEquals(currentTick, generator.getBorrowableSecond(currentTick + 101));
+    }
+
+}